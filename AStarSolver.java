@@ -0,0 +1,115 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+/*
+ * A* Maze Solver
+ *
+ * Expands cells in order of distance travelled plus the Manhattan distance
+ * left to the goal, preferring cells closer to the goal on ties. Returns a
+ * shortest path, and usually expands far fewer cells than a blind search
+ * when the goal is near or the maze is open. The open set is an indexed
+ * heap over cell indices, so nothing is boxed.
+ */
+public class AStarSolver implements MazeSolver {
+
+    private VisitMarks seen;
+    private VisitMarks closed;
+    private int distance[];
+    private int parent[];
+    private IndexedMinHeap open;
+    private int expandedCount;
+
+    /*
+     * Constructor for the AStarSolver class.
+     */
+    public AStarSolver() {
+        seen = new VisitMarks(0);
+        closed = new VisitMarks(0);
+        distance = new int[0];
+        parent = new int[0];
+        open = new IndexedMinHeap();
+        expandedCount = 0;
+    }
+
+    public int[] solve(MazeModel mazeModel, int start, int goal, SolveTrace trace) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int columns = mazeModel.getColumns();
+        int cellCount = mazeModel.getRows() * columns;
+
+        seen.resize(cellCount);
+        closed.resize(cellCount);
+        if (parent.length < cellCount) {
+            distance = new int[cellCount];
+            parent = new int[cellCount];
+        }
+        open.reset(cellCount);
+        expandedCount = 0;
+
+        int goalR = goal / columns;
+        int goalC = goal % columns;
+
+        seen.visit(start);
+        distance[start] = 0;
+        parent[start] = -1;
+        open.push(start, key(0, start, goalR, goalC, columns));
+
+        while (!open.isEmpty()) {
+            int cell = open.pop();
+            closed.visit(cell);
+            expandedCount++;
+            if (trace != null) {
+                trace.add(cell, SolveTrace.VISIT);
+            }
+
+            if (cell == goal) {
+                return BreadthFirstSolver.buildPath(parent, goal, trace);
+            }
+
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(cell, direction)) {
+                    int next = walls.neighbor(cell, direction);
+                    int nextDistance = distance[cell] + 1;
+
+                    if (!closed.isVisited(next) && (!seen.isVisited(next) || nextDistance < distance[next])) {
+                        seen.visit(next);
+                        distance[next] = nextDistance;
+                        parent[next] = cell;
+                        open.push(next, key(nextDistance, next, goalR, goalC, columns));
+                    }
+                }
+            }
+        }
+
+        return new int[0];
+    }
+
+    /*
+     * Builds the heap priority of a cell, the estimated path length in the
+     * high half and the distance left to the goal in the low half.
+     *
+     * @param   distance    The distance travelled to the cell
+     * @param   cell        The cell
+     * @param   goalR       The row of the goal
+     * @param   goalC       The column of the goal
+     * @param   columns     The number of columns of the maze
+     * @return              The priority of the cell
+     */
+    private static long key(int distance, int cell, int goalR, int goalC, int columns) {
+        int r = cell / columns;
+        int c = cell - r * columns;
+        long remaining = Math.abs(r - goalR) + Math.abs(c - goalC);
+        return ((distance + remaining) << 32) | remaining;
+    }
+
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    public String getName() {
+        return "A* (Manhattan)";
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+/*
+ * Bidirectional Breadth-First Search Maze Solver
+ *
+ * Runs a breadth-first search from the start and another from the goal,
+ * each time expanding a whole level of the side with the smaller frontier.
+ * Once a level reaches cells seen by the other side, the shortest link
+ * found across that level joins the two searches. On a typical perfect
+ * maze this touches about half the cells of a one-sided search.
+ */
+public class BidirectionalSolver implements MazeSolver {
+
+    // Search Sides
+    private static final int FORWARD = 0;
+    private static final int BACKWARD = 1;
+
+    private VisitMarks seen[];
+    private int distance[][];
+    private int parent[][];
+    private IntQueue queue[];
+    private int expandedCount;
+
+    /*
+     * Constructor for the BidirectionalSolver class.
+     */
+    public BidirectionalSolver() {
+        seen = new VisitMarks[] {new VisitMarks(0), new VisitMarks(0)};
+        distance = new int[2][0];
+        parent = new int[2][0];
+        queue = new IntQueue[] {new IntQueue(), new IntQueue()};
+        expandedCount = 0;
+    }
+
+    public int[] solve(MazeModel mazeModel, int start, int goal, SolveTrace trace) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int cellCount = mazeModel.getRows() * mazeModel.getColumns();
+
+        for (int side = FORWARD; side <= BACKWARD; side++) {
+            seen[side].resize(cellCount);
+            if (parent[side].length < cellCount) {
+                distance[side] = new int[cellCount];
+                parent[side] = new int[cellCount];
+            }
+            queue[side].clear();
+        }
+        expandedCount = 0;
+
+        if (start == goal) {
+            expandedCount = 1;
+            if (trace != null) {
+                trace.add(start, SolveTrace.VISIT);
+                trace.add(start, SolveTrace.PATH);
+            }
+            return new int[] {start};
+        }
+
+        startSide(FORWARD, start);
+        startSide(BACKWARD, goal);
+
+        // Best Link Between the Two Searches
+        int bestLength = Integer.MAX_VALUE;
+        int meetForward = -1;
+        int meetBackward = -1;
+
+        while (bestLength == Integer.MAX_VALUE && !queue[FORWARD].isEmpty() && !queue[BACKWARD].isEmpty()) {
+
+            int side = (queue[FORWARD].size() <= queue[BACKWARD].size()) ? FORWARD : BACKWARD;
+            int other = 1 - side;
+
+            // Expand One Whole Level of the Side
+            for (int levelSize = queue[side].size(); levelSize > 0; levelSize--) {
+                int cell = queue[side].remove();
+                expandedCount++;
+                if (trace != null) {
+                    trace.add(cell, SolveTrace.VISIT);
+                }
+
+                for (int direction = 0; direction < 4; direction++) {
+                    if (walls.isOpen(cell, direction)) {
+                        int next = walls.neighbor(cell, direction);
+
+                        if (seen[other].isVisited(next)) {
+                            int length = distance[side][cell] + 1 + distance[other][next];
+                            if (length < bestLength) {
+                                bestLength = length;
+                                meetForward = (side == FORWARD) ? cell : next;
+                                meetBackward = (side == FORWARD) ? next : cell;
+                            }
+                        }
+                        if (!seen[side].isVisited(next)) {
+                            seen[side].visit(next);
+                            distance[side][next] = distance[side][cell] + 1;
+                            parent[side][next] = cell;
+                            queue[side].add(next);
+                        }
+                    }
+                }
+            }
+        }
+
+        if (bestLength == Integer.MAX_VALUE) {
+            return new int[0];
+        }
+
+        // Join the Start Half and the Goal Half at the Link
+        int path[] = new int[bestLength + 1];
+        int i = distance[FORWARD][meetForward];
+        for (int cell = meetForward; cell != -1; cell = parent[FORWARD][cell]) {
+            path[i--] = cell;
+        }
+        i = distance[FORWARD][meetForward] + 1;
+        for (int cell = meetBackward; cell != -1; cell = parent[BACKWARD][cell]) {
+            path[i++] = cell;
+        }
+
+        if (trace != null) {
+            for (int j = 0; j < path.length; j++) {
+                trace.add(path[j], SolveTrace.PATH);
+            }
+        }
+        return path;
+    }
+
+    /*
+     * Seeds one side of the search with its first cell.
+     *
+     * @param   side    FORWARD or BACKWARD
+     * @param   cell    The cell the side starts from
+     */
+    private void startSide(int side, int cell) {
+        seen[side].visit(cell);
+        distance[side][cell] = 0;
+        parent[side][cell] = -1;
+        queue[side].add(cell);
+    }
+
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    public String getName() {
+        return "Bidirectional BFS";
+    }
+}
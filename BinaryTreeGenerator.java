@@ -0,0 +1,40 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.SplittableRandom;
+
+/*
+ * Binary Tree Maze Generator
+ *
+ * Every cell carves either up or left, so the top row and left column are
+ * open corridors. Needs no memory beyond the walls.
+ */
+public class BinaryTreeGenerator implements MazeGenerator {
+
+    public void generate(MazeModel mazeModel, SplittableRandom random) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int rows = walls.getRows();
+        int columns = walls.getColumns();
+
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                int cell = r * columns + c;
+
+                if (r > 0 && (c == 0 || random.nextBoolean())) {
+                    mazeModel.carve(walls.edge(cell, WallGrid.UP));
+                }
+                else if (c > 0) {
+                    mazeModel.carve(walls.edge(cell, WallGrid.LEFT));
+                }
+            }
+        }
+    }
+
+    public String getName() {
+        return "Binary Tree";
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+/*
+ * Breadth-First Search Maze Solver
+ *
+ * Expands cells in order of distance from the start, so the path it returns
+ * is a shortest path even in mazes with loops. Works on flat cell indices
+ * with an int queue and an int parent array, nothing is allocated per cell.
+ * The trace shows every expanded cell followed by the path.
+ */
+public class BreadthFirstSolver implements MazeSolver {
+
+    private VisitMarks visited;
+    private int parent[];
+    private IntQueue queue;
+    private int expandedCount;
+
+    /*
+     * Constructor for the BreadthFirstSolver class.
+     */
+    public BreadthFirstSolver() {
+        visited = new VisitMarks(0);
+        parent = new int[0];
+        queue = new IntQueue();
+        expandedCount = 0;
+    }
+
+    public int[] solve(MazeModel mazeModel, int start, int goal, SolveTrace trace) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int cellCount = mazeModel.getRows() * mazeModel.getColumns();
+
+        visited.resize(cellCount);
+        if (parent.length < cellCount) {
+            parent = new int[cellCount];
+        }
+        queue.clear();
+        expandedCount = 0;
+
+        visited.visit(start);
+        parent[start] = -1;
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            int cell = queue.remove();
+            expandedCount++;
+            if (trace != null) {
+                trace.add(cell, SolveTrace.VISIT);
+            }
+
+            if (cell == goal) {
+                return buildPath(parent, goal, trace);
+            }
+
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(cell, direction)) {
+                    int next = walls.neighbor(cell, direction);
+                    if (!visited.isVisited(next)) {
+                        visited.visit(next);
+                        parent[next] = cell;
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+
+        return new int[0];
+    }
+
+    /*
+     * Follows the parent links back from the goal to build the path.
+     *
+     * @param   parent  The parent of each reached cell, -1 for the start
+     * @param   goal    The cell the path ends at
+     * @param   trace   The trace to add the path to, or null
+     * @return          The cells of the path from start to goal
+     */
+    public static int[] buildPath(int[] parent, int goal, SolveTrace trace) {
+
+        int length = 0;
+        for (int cell = goal; cell != -1; cell = parent[cell]) {
+            length++;
+        }
+
+        int path[] = new int[length];
+        for (int cell = goal, i = length - 1; cell != -1; cell = parent[cell], i--) {
+            path[i] = cell;
+        }
+
+        if (trace != null) {
+            for (int i = 0; i < length; i++) {
+                trace.add(path[i], SolveTrace.PATH);
+            }
+        }
+        return path;
+    }
+
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    public String getName() {
+        return "Breadth-First Search";
+    }
+}
@@ -12,7 +12,6 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
-import java.util.LinkedList;
 
 /*
  * Controller for the Maze
@@ -20,30 +19,26 @@ import java.util.LinkedList;
 public class Controller
         implements ChangeListener, ActionListener, ItemListener {
 
-    // Constant Starting Coordinates
-    private static final int START_R = 0;
-    private static final int START_C = 0;
-
     // Simulation State Constants
     private static final int SIMULATION_RESET = 0;
     private static final int SIMULATION_PAUSED = 1;
     private static final int SIMULATION_IN_PROGRESS = 2;
     private static final int SIMULATION_COMPLETED = 3;
 
-    // Neighbor Constants
-    private static final int NEIGHBOR_R[] = {1, 0, -1, 0};
-    private static final int NEIGHBOR_C[] = {0, 1, 0, -1};
+    // Frame Pacing Constants, About 60 Frames a Second
+    private static final int FRAME_DELAY = 16;
+    private static final long MAX_FRAME_NANOS = 100000000L;
 
-    // Speed Constant
-    private static final int SPEED_CONSTANT = 105;
+    // Playback Speed Range, the Slider Runs From 10^1 to 10^6 Events a Second
+    private static final double MIN_SPEED_EXPONENT = 1;
+    private static final double SPEED_EXPONENT_RANGE = 5;
 
     // Models
+    private static MazeEngine mazeEngine;
     private static MazeModel mazeModel;
-    private static Cell cells[][];
 
     // Views
     private static MazeView mazeView;
-    private static CellView cellViews[][];
     private static ConsoleView consoleView;
     private static View view;
     private static PanelView panelView;
@@ -55,77 +50,115 @@ public class Controller
     // Simulation Current Status
     private static int generationSimulationStatus = SIMULATION_RESET;
     private static int solutionSimulationStatus = SIMULATION_RESET;
-    private static int generationSpeed;
-    private static int solutionSpeed;
     private static int percentNumerator = 0;
     private static boolean showGeneration = true;
     private static boolean showSolution = true;
 
     // Timer
     private Timer timer;
-    private int gameTime;
+    private long playedNanos;
+    private long lastFrame;
+    private double dueEvents;
 
     /*
      * Constructor for the Controller class.
      */
     public Controller() {
 
-        // Initialize the Game Time
-        gameTime = 0;
+        // Initialize the Play Time
+        playedNanos = 0;
+        dueEvents = 0;
 
-        // Set Up the Timer
-        timer = new Timer(1, new ActionListener() {
+        // Set Up the Timer to Fire Once a Frame
+        timer = new Timer(FRAME_DELAY, new ActionListener() {
             public void actionPerformed(ActionEvent e) {
 
-                // Increase the game time.
-                gameTime++;
-
-                // Update the Time Label
-                panelView.setTimeLabel(Integer.toString((gameTime / 900)));
-
-                // Update the Percentage Label
-                int percent = ((percentNumerator * 100) / (generateView.getRowSlider().getValue() * generateView.getColumnSlider().getValue()));
-                panelView.setVisitedLabel(Integer.toString(percent) + "%");
+                // Measure the frame, so a late tick plays more events
+                long now = System.nanoTime();
+                long elapsed = Math.min(now - lastFrame, MAX_FRAME_NANOS);
+                lastFrame = now;
+                playedNanos += elapsed;
 
                 // Control for Generate View
                 if (consoleView.isGenerateView()) {
 
-                    if (gameTime % (SPEED_CONSTANT - generationSpeed * 10) == 0) {
-                        int wall[] = mazeModel.popMazeGenerationWall();
-                        if (wall != null) {
-                            mazeView.breakWall(wall[0], wall[1], wall[2], wall[3]);
-                            percentNumerator++;
-                        } else {
+                    int events = takeDueEvents(elapsed, generateView.getSpeedSlider());
+                    for (int i = 0; i < events; i++) {
+                        int wall = mazeModel.popMazeGenerationWall();
+                        if (wall == -1) {
                             generationSimulationCompleted();
+                            return;
                         }
+                        mazeView.breakWall(wall);
+                        percentNumerator++;
                     }
                 }
 
                 // Control for Solution View
                 else if (consoleView.isSolveView()) {
-                    if (gameTime % (SPEED_CONSTANT - solutionSpeed * 10) == 0) {
-                        int mazeReturn = mazeView.popMazeSolution();
-                        if (mazeReturn == -1) {
-                            solutionSimulationCompleted();
-                        }
-                        else if (mazeReturn == 0) {
-                            percentNumerator++;
-                        }
+
+                    int events = takeDueEvents(elapsed, solveView.getSpeedSlider());
+                    seekSolution((int) Math.min((long) mazeView.getSolutionPosition() + events, Integer.MAX_VALUE));
+                    if (mazeView.isSolutionShown()) {
+                        solutionSimulationCompleted();
                     }
                 }
+
+                // Update the Labels Once per Frame
+                updateLabels();
             }
         });
     }
 
+    /*
+     * Adds a frame's worth of events at the speed of a slider and takes the
+     * whole events due, carrying the fraction over to the next frame.
+     *
+     * @param   elapsed     The length of the frame in nanoseconds
+     * @param   speedSlider The slider setting the speed
+     * @return              The number of events to play this frame
+     */
+    private int takeDueEvents(long elapsed, JSlider speedSlider) {
+        double position = (double) (speedSlider.getValue() - speedSlider.getMinimum())
+                / (speedSlider.getMaximum() - speedSlider.getMinimum());
+        double eventsPerSecond = Math.pow(10, MIN_SPEED_EXPONENT + SPEED_EXPONENT_RANGE * position);
+
+        dueEvents += eventsPerSecond * elapsed / 1e9;
+        int events = (int) Math.min(dueEvents, Integer.MAX_VALUE);
+        dueEvents -= events;
+        return events;
+    }
+
+    /*
+     * Updates the time and percentage labels.
+     */
+    private void updateLabels() {
+
+        // Update the Time Label
+        panelView.setTimeLabel(Long.toString(playedNanos / 1000000000L));
+
+        // Update the Percentage Label
+        int percent = ((percentNumerator * 100) / (generateView.getRowSlider().getValue() * generateView.getColumnSlider().getValue()));
+        panelView.setVisitedLabel(Integer.toString(percent) + "%");
+    }
+
+    /*
+     * Starts the frame timer, measuring the first frame from now.
+     */
+    private void startTimer() {
+        lastFrame = System.nanoTime();
+        timer.start();
+    }
+
     /*
      * Generate the maze instantly.
      */
     private void generateMazeInstantly() {
 
         // Generate the maze
-        int wall[] = mazeModel.popMazeGenerationWall();
-        while (wall != null) {
-            mazeView.breakWall(wall[0], wall[1], wall[2], wall[3]);
+        int wall = mazeModel.popMazeGenerationWall();
+        while (wall != -1) {
+            mazeView.breakWall(wall);
             wall = mazeModel.popMazeGenerationWall();
         }
 
@@ -138,34 +171,55 @@ public class Controller
      */
     private void solveMazeInstantly() {
 
-        // Solve the maze
-        int solutionReturn = mazeView.popMazeSolution();
-        while (solutionReturn != -1) {
-            // solutionReturn is 0 when a new cell is visited
-            if (solutionReturn == 0) {
-                percentNumerator++;
-            }
-            solutionReturn = mazeView.popMazeSolution();
-        }
-
-        // Update the percentage from panelView
-        int percent = ((percentNumerator * 100) / (generateView.getRowSlider().getValue() * generateView.getColumnSlider().getValue()));
-        panelView.setVisitedLabel(Integer.toString(percent) + "%");
+        // Jump to the end of the solution
+        seekSolution(mazeView.getSolutionLength());
 
         // Complete the solution simulation
         solutionSimulationCompleted();
     }
 
     /*
-     * Set the maze for the controller to access.
+     * Move the solution replay to a step and update the step slider and
+     * labels to match.
+     *
+     * @param   step    The number of solution steps to show
+     */
+    private void seekSolution(int step) {
+        mazeView.seekMazeSolution(step);
+        percentNumerator = mazeView.getSolutionVisitCount();
+
+        solveView.setStep(mazeView.getSolutionPosition());
+        updateLabels();
+    }
+
+    /*
+     * Scrub the solution to a step picked on the step slider, pausing the
+     * simulation there.
+     *
+     * @param   step    The number of solution steps to show
+     */
+    private void scrubSolution(int step) {
+        timer.stop();
+        seekSolution(step);
+
+        if (mazeView.isSolutionShown()) {
+            solutionSimulationCompleted();
+        }
+        else {
+            pauseSolutionSimulation();
+        }
+    }
+
+    /*
+     * Set the maze engine for the controller to access.
      *
-     * @param   m       The maze class
+     * @param   e       The maze engine
      */
-    public void setMaze(MazeModel m) {
+    public void setEngine(MazeEngine e) {
 
         // Update the data members
-        mazeModel = m;
-        cells = m.getCells();
+        mazeEngine = e;
+        mazeModel = e.getMazeModel();
     }
 
     /*
@@ -178,9 +232,8 @@ public class Controller
         // Update the data members
         view = v;
 
-        // Update the mazeView views
+        // Update the mazeView view
         mazeView = v.getMazeView();
-        cellViews = mazeView.getCellViews();
 
         // Update the consoleView views
         consoleView = v.getConsoleView();
@@ -190,10 +243,6 @@ public class Controller
         // Update the panelView view
         panelView = v.getPanelView();
 
-        // Update the Speeds
-        generationSpeed = generateView.getDefaultSpeed();
-        solutionSpeed = solveView.getDefaultSpeed();
-
         // Generate the Maze
         generateMaze();
     }
@@ -210,29 +259,52 @@ public class Controller
 
         if (curSlider == generateView.getRowSlider()) {
             generateView.setRowLabel("Row: " + Integer.toString(value));
-            mazeView.changeSize(cells, value, generateView.getColumnSlider().getValue());
-            resetMazeGeneration();
+
+            // Rebuild the Maze Once the Drag Ends
+            if (!curSlider.getValueIsAdjusting()) {
+                resetMazeGeneration();
+            }
         }
         else if (curSlider == generateView.getColumnSlider()) {
             generateView.setColumnLabel("Column: " + Integer.toString(value));
-            mazeView.changeSize(cells, generateView.getRowSlider().getValue(), value);
-            resetMazeGeneration();
-        }
-        else if (curSlider == generateView.getSpeedSlider()) {
-            generationSpeed = generateView.getSpeedSlider().getValue();
+
+            // Rebuild the Maze Once the Drag Ends
+            if (!curSlider.getValueIsAdjusting()) {
+                resetMazeGeneration();
+            }
         }
-        else if (curSlider == solveView.getSpeedSlider()) {
-            solutionSpeed = solveView.getSpeedSlider().getValue();
+        else if (curSlider == solveView.getStepSlider()) {
+            // Moves made by the replay itself already match the slider
+            if (generationSimulationStatus == SIMULATION_COMPLETED && value != mazeView.getSolutionPosition()) {
+                scrubSolution(value);
+            }
         }
 
     }
 
     /*
-     * Responds to the console button presses.
+     * Responds to the console button presses and algorithm changes.
      *
      * @param   event   The event occur which called the function
      */
     public void actionPerformed(ActionEvent event) {
+
+        // Generation Algorithm Box
+        if (event.getSource() == generateView.getAlgorithmBox()) {
+            mazeEngine.setGenerator(generateView.getSelectedGenerator());
+            resetMazeGeneration();
+            return;
+        }
+
+        // Solve Algorithm Box
+        if (event.getSource() == solveView.getAlgorithmBox()) {
+            mazeEngine.setSolver(solveView.getSelectedSolver());
+            if (generationSimulationStatus == SIMULATION_COMPLETED) {
+                resetSolutionSimulation();
+            }
+            return;
+        }
+
         JButton curButton = (JButton)event.getSource();
 
         if (curButton == generateView.getGenerateButton()) {
@@ -256,7 +328,8 @@ public class Controller
 
             if (solutionSimulationStatus == SIMULATION_RESET) {
                 percentNumerator = 0;
-                gameTime = 0;
+                playedNanos = 0;
+                dueEvents = 0;
                 startSolutionSimulation();
             }
             else if (solutionSimulationStatus == SIMULATION_PAUSED) {
@@ -272,6 +345,9 @@ public class Controller
         else if (curButton == solveView.getResetButton() && generationSimulationStatus == SIMULATION_COMPLETED) {
             resetSolutionSimulation();
         }
+        else if (curButton == solveView.getEndButton() && generationSimulationStatus == SIMULATION_COMPLETED) {
+            scrubSolution(mazeView.getSolutionLength());
+        }
     }
 
     /*
@@ -328,7 +404,7 @@ public class Controller
 
         if (showGeneration) {
             // Start the Timer if Show Solution is Selected
-            timer.start();
+            startTimer();
         }
         else {
             // Solve Maze Instantly if the Show Solution is Unselected
@@ -343,9 +419,9 @@ public class Controller
         generationSimulationStatus = SIMULATION_RESET;
 
         // Reset the Timer
-        timer.restart();
         timer.stop();
-        gameTime = 0;
+        playedNanos = 0;
+        dueEvents = 0;
 
         // Update the View
         generateView.setGenerateButtonText("Generate");
@@ -434,7 +510,7 @@ public class Controller
 
         if (showSolution) {
             // Start the Timer if Show Solution is Selected
-            timer.start();
+            startTimer();
         }
         else {
             // Solve Maze Instantly if the Show Solution is Unselected
@@ -453,9 +529,9 @@ public class Controller
         solutionSimulationStatus = SIMULATION_RESET;
 
         // Reset the Timer
-        timer.restart();
         timer.stop();
-        gameTime = 0;
+        playedNanos = 0;
+        dueEvents = 0;
 
         // Update the View
         solveView.setSolveButtonText("Solve");
@@ -473,9 +549,9 @@ public class Controller
      * Reset the Maze Generation.
      */
     private void resetMazeGeneration() {
-        // Reset Maze and Maze View
-        mazeModel.reset();
-        mazeView.reset(cells, generateView.getRowSlider().getValue(), generateView.getColumnSlider().getValue());
+        // Reset Maze View
+        mazeView.reset(generateView.getRowSlider().getValue(), generateView.getColumnSlider().getValue());
+        solveView.setStepCount(0);
 
         // Reset Maze Generation
         generateMaze();
@@ -487,7 +563,7 @@ public class Controller
      */
     private void resetMazeSolution() {
         // Reset Maze and Maze View
-        mazeView.resetSolution(cells, generateView.getRowSlider().getValue(), generateView.getColumnSlider().getValue());
+        mazeView.resetSolution(generateView.getRowSlider().getValue(), generateView.getColumnSlider().getValue());
 
         solveMaze();
     }
@@ -496,92 +572,18 @@ public class Controller
      * Generate the maze.
      */
     private void generateMaze() {
-
-        int rows = generateView.getRowSlider().getValue();
-        int columns = generateView.getColumnSlider().getValue();
-
-        LinkedList<Cell> adj = new LinkedList<>();
-
-        Cell currentCell = cells[START_R][START_C];
-        adj.add(currentCell);
-        currentCell.visit();
-
-        while(currentCell != null) {
-
-            // Randomize Neighbor Order
-            int randomNeighborR[] = new int[4];
-            int randomNeighborC[] = new int[4];
-            mazeModel.randomizeNeighbors(randomNeighborR, randomNeighborC);
-
-            // Find Next Unvisited Neighbor
-            int neighborIndex = 0;
-            while ((neighborIndex < randomNeighborR.length)
-                    && (currentCell.getR() + randomNeighborR[neighborIndex] < 0
-                    || currentCell.getR() + randomNeighborR[neighborIndex] >= rows
-                    || currentCell.getC() + randomNeighborC[neighborIndex] < 0
-                    || currentCell.getC() + randomNeighborC[neighborIndex] >= columns
-                    || cells[currentCell.getR() + randomNeighborR[neighborIndex]][currentCell.getC() + randomNeighborC[neighborIndex]].isVisited())) {
-                neighborIndex++;
-            }
-
-            // Check if All Neighbors are Visited
-            if (neighborIndex >= randomNeighborR.length) {
-                if (adj.size() > 0) {
-                    currentCell = adj.getFirst();
-                    adj.removeFirst();
-                } else {
-                    currentCell = null;
-                }
-            } else {
-                int tempWall[] = {currentCell.getR(), currentCell.getC(), currentCell.getR() + randomNeighborR[neighborIndex], currentCell.getC() + randomNeighborC[neighborIndex]};
-                mazeModel.addToMazeGeneration(tempWall);
-                currentCell = cells[currentCell.getR() + randomNeighborR[neighborIndex]][currentCell.getC() + randomNeighborC[neighborIndex]];
-                adj.add(currentCell);
-                currentCell.visit();
-            }
-
-        }
+        mazeEngine.generate(generateView.getRowSlider().getValue(), generateView.getColumnSlider().getValue());
     }
 
     /*
-     * Solve the maze.
+     * Solve the maze and load the solver steps into the maze view.
      */
     private void solveMaze() {
 
-        int rows = generateView.getRowSlider().getValue();
-        int columns = generateView.getColumnSlider().getValue();
+        mazeEngine.solve();
+        solveView.setExpandedLabel("Expanded: " + Integer.toString(mazeEngine.getExpandedCount()));
 
-        mazeModel.unvisitCells();
-
-        LinkedList<Cell> adj = new LinkedList<>();
-        Cell currentCell = cells[START_R][START_C];
-
-        while (currentCell.getR() != (rows - 1) || currentCell.getC() != (columns - 1)) {
-
-            int i = 0;
-
-            while ((i < NEIGHBOR_R.length)
-                    && ((currentCell.getR() + NEIGHBOR_R[i]) < 0
-                    || (currentCell.getR() + NEIGHBOR_R[i]) >= rows
-                    || (currentCell.getC() + NEIGHBOR_C[i]) < 0
-                    || (currentCell.getC() + NEIGHBOR_C[i]) >= columns
-                    || mazeModel.hasWall(currentCell, cells[(currentCell.getR() + NEIGHBOR_R[i])][(currentCell.getC() + NEIGHBOR_C[i])])
-                    || cells[(currentCell.getR() + NEIGHBOR_R[i])][(currentCell.getC() + NEIGHBOR_C[i])].isVisited())) {
-                i++;
-            }
-
-            // Check if all neighbors are exhausted
-            if (i >= NEIGHBOR_R.length) {
-                currentCell.visit();
-                mazeView.addToMazeSolution(currentCell.getR(), currentCell.getC(), Color.LIGHT_GRAY);
-                currentCell = adj.removeLast();
-            }
-            else {
-                adj.add(currentCell);
-                currentCell.visit();
-                mazeView.addToMazeSolution(currentCell.getR(), currentCell.getC(), Color.CYAN);
-                currentCell = cells[(currentCell.getR() + NEIGHBOR_R[i])][(currentCell.getC() + NEIGHBOR_C[i])];
-            }
-        }
+        mazeView.setMazeSolution(mazeEngine.getSolveTrace());
+        solveView.setStepCount(mazeView.getSolutionLength());
     }
 }
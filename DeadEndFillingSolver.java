@@ -0,0 +1,302 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/*
+ * Parallel Dead-End Filling Maze Solver
+ *
+ * Fills every dead end, a cell with a single opening, and keeps filling
+ * while the filled corridors expose new dead ends. On a perfect maze only
+ * the path from start to goal is left unfilled. The grid is split into
+ * stripes of rows that are filled in parallel on a ForkJoinPool.
+ *
+ * Each cell holds the number of open neighbors not yet filled. A thread
+ * claims a dead end with a compare-and-set to FILLED, so every cell is
+ * filled exactly once. A fill that runs into another stripe is handed to
+ * that stripe through a lock-free worklist and picked up in the next round.
+ */
+public class DeadEndFillingSolver implements MazeSolver {
+
+    // Open Count of a Filled Cell
+    private static final int FILLED = -1;
+
+    // Stripes per Worker, for Load Balancing
+    private static final int STRIPES_PER_WORKER = 4;
+
+    private ForkJoinPool pool;
+
+    // Open Count of Each Cell
+    private AtomicIntegerArray open;
+
+    // Fills Handed Across Stripes, Read Back in the Next Round
+    private int handoff[];
+    private AtomicInteger handoffCount;
+
+    // Path Extraction
+    private VisitMarks seen;
+    private int parent[];
+    private IntQueue queue;
+
+    private int expandedCount;
+
+    /*
+     * Constructor for the DeadEndFillingSolver class, using the common pool.
+     */
+    public DeadEndFillingSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /*
+     * Constructor for the DeadEndFillingSolver class.
+     *
+     * @param   pool    The pool to fill the stripes on
+     */
+    public DeadEndFillingSolver(ForkJoinPool pool) {
+        this.pool = pool;
+        open = new AtomicIntegerArray(0);
+        handoff = new int[0];
+        handoffCount = new AtomicInteger();
+        seen = new VisitMarks(0);
+        parent = new int[0];
+        queue = new IntQueue();
+        expandedCount = 0;
+    }
+
+    public int[] solve(MazeModel mazeModel, int start, int goal, SolveTrace trace) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int rows = mazeModel.getRows();
+        int columns = mazeModel.getColumns();
+        int cellCount = rows * columns;
+
+        if (open.length() < cellCount) {
+            open = new AtomicIntegerArray(cellCount);
+        }
+
+        int stripeCount = Math.min(rows, pool.getParallelism() * STRIPES_PER_WORKER);
+        int stripeRows = (rows + stripeCount - 1) / stripeCount;
+        stripeCount = (rows + stripeRows - 1) / stripeRows;
+
+        // Fills Only Cross into the Row Either Side of a Boundary
+        if (handoff.length < 2 * columns * stripeCount) {
+            handoff = new int[2 * columns * stripeCount];
+        }
+
+        Fill fill = new Fill(walls, start, goal, stripeRows);
+
+        // Count the Openings, then Fill the Dead Ends Found in Each Stripe
+        pool.invoke(new StripeTask(fill, Fill.COUNT, 0, stripeCount));
+        handoffCount.set(0);
+        pool.invoke(new StripeTask(fill, Fill.SCAN, 0, stripeCount));
+
+        // Keep Filling From the Handed Over Cells Until None are Left
+        int pending[] = new int[0];
+        while (handoffCount.get() > 0) {
+            int count = handoffCount.get();
+            if (pending.length < count) {
+                pending = new int[count];
+            }
+            System.arraycopy(handoff, 0, pending, 0, count);
+            handoffCount.set(0);
+
+            fill.pending = pending;
+            pool.invoke(new StripeTask(fill, Fill.CONTINUE, 0, count));
+        }
+
+        return extractPath(walls, start, goal, cellCount, trace);
+    }
+
+    /*
+     * Finds the path through the cells left unfilled. On a perfect maze those
+     * cells are exactly the path, a breadth-first search keeps the result a
+     * shortest path when the maze has loops.
+     *
+     * @param   walls       The walls of the maze
+     * @param   start       The cell to start from
+     * @param   goal        The cell to reach
+     * @param   cellCount   The number of cells in the maze
+     * @param   trace       The trace to record the steps in, or null
+     * @return              The cells of the path from start to goal
+     */
+    private int[] extractPath(WallGrid walls, int start, int goal, int cellCount, SolveTrace trace) {
+
+        expandedCount = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (open.get(cell) == FILLED) {
+                expandedCount++;
+                if (trace != null) {
+                    trace.add(cell, SolveTrace.BACKTRACK);
+                }
+            }
+        }
+
+        seen.resize(cellCount);
+        if (parent.length < cellCount) {
+            parent = new int[cellCount];
+        }
+        queue.clear();
+
+        seen.visit(start);
+        parent[start] = -1;
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            int cell = queue.remove();
+            expandedCount++;
+
+            if (cell == goal) {
+                return BreadthFirstSolver.buildPath(parent, goal, trace);
+            }
+
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(cell, direction)) {
+                    int next = walls.neighbor(cell, direction);
+                    if (open.get(next) != FILLED && !seen.isVisited(next)) {
+                        seen.visit(next);
+                        parent[next] = cell;
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+
+        return new int[0];
+    }
+
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    public String getName() {
+        return "Dead-End Filling (Parallel)";
+    }
+
+    /*
+     * The work of one solve, shared by the stripe tasks.
+     */
+    private class Fill {
+
+        // Phases
+        static final int COUNT = 0;
+        static final int SCAN = 1;
+        static final int CONTINUE = 2;
+
+        private WallGrid walls;
+        private int start;
+        private int goal;
+        private int stripeRows;
+        private int pending[];
+
+        Fill(WallGrid walls, int start, int goal, int stripeRows) {
+            this.walls = walls;
+            this.start = start;
+            this.goal = goal;
+            this.stripeRows = stripeRows;
+            this.pending = new int[0];
+        }
+
+        /*
+         * Runs a phase over one stripe, or over one handed over cell.
+         *
+         * @param   phase   COUNT, SCAN or CONTINUE
+         * @param   item    The stripe, or the index into the pending cells
+         */
+        void run(int phase, int item) {
+            int columns = walls.getColumns();
+
+            if (phase == CONTINUE) {
+                int cell = pending[item];
+                fillFrom(cell, (cell / columns) / stripeRows);
+                return;
+            }
+
+            int first = item * stripeRows * columns;
+            int last = Math.min(walls.getRows(), (item + 1) * stripeRows) * columns;
+
+            for (int cell = first; cell < last; cell++) {
+                if (phase == COUNT) {
+                    int count = 0;
+                    for (int direction = 0; direction < 4; direction++) {
+                        if (walls.isOpen(cell, direction)) {
+                            count++;
+                        }
+                    }
+                    open.set(cell, count);
+                }
+                else if (open.get(cell) == 1 && cell != start && cell != goal
+                        && open.compareAndSet(cell, 1, FILLED)) {
+                    fillFrom(cell, item);
+                }
+            }
+        }
+
+        /*
+         * Follows a fill from a claimed dead end while it keeps exposing new
+         * dead ends inside the stripe.
+         *
+         * @param   cell    The dead end that was just claimed
+         * @param   stripe  The stripe doing the filling
+         */
+        private void fillFrom(int cell, int stripe) {
+            int columns = walls.getColumns();
+
+            while (cell != -1) {
+                // Find the One Neighbor Still Open to the Filled Cell
+                int next = -1;
+                for (int direction = 0; direction < 4 && next == -1; direction++) {
+                    if (walls.isOpen(cell, direction)) {
+                        int neighbor = walls.neighbor(cell, direction);
+                        if (open.get(neighbor) != FILLED) {
+                            next = neighbor;
+                        }
+                    }
+                }
+
+                cell = -1;
+                if (next != -1 && open.decrementAndGet(next) == 1 && next != start && next != goal
+                        && open.compareAndSet(next, 1, FILLED)) {
+                    if ((next / columns) / stripeRows == stripe) {
+                        cell = next;
+                    }
+                    else {
+                        handoff[handoffCount.getAndIncrement()] = next;
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Fork-join task running a phase over a range of stripes or cells.
+     */
+    private class StripeTask extends RecursiveAction {
+
+        private Fill fill;
+        private int phase;
+        private int from, to;
+
+        StripeTask(Fill fill, int phase, int from, int to) {
+            this.fill = fill;
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (to - from == 1) {
+                fill.run(phase, from);
+            }
+            else if (to > from) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new StripeTask(fill, phase, from, middle), new StripeTask(fill, phase, middle, to));
+            }
+        }
+    }
+}
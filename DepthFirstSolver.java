@@ -0,0 +1,102 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+/*
+ * Depth-First Search Maze Solver
+ *
+ * Walks into the first open unvisited neighbor, trying down, right, up and
+ * left in that order, and backtracks out of dead ends. The trace shows every
+ * step forward and every backtrack.
+ *
+ * Cells are flat indices and the walk is kept on an int stack, so a solve
+ * allocates nothing but the returned path once the buffers have grown.
+ */
+public class DepthFirstSolver implements MazeSolver {
+
+    // Neighbor Order
+    private static final int NEIGHBOR_ORDER[] = {WallGrid.DOWN, WallGrid.RIGHT, WallGrid.UP, WallGrid.LEFT};
+
+    private VisitMarks visited;
+    private int stack[];
+    private int expandedCount;
+
+    /*
+     * Constructor for the DepthFirstSolver class.
+     */
+    public DepthFirstSolver() {
+        visited = new VisitMarks(0);
+        stack = new int[0];
+        expandedCount = 0;
+    }
+
+    public int[] solve(MazeModel mazeModel, int start, int goal, SolveTrace trace) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int cellCount = mazeModel.getRows() * mazeModel.getColumns();
+
+        visited.resize(cellCount);
+        if (stack.length < cellCount) {
+            stack = new int[cellCount];
+        }
+        expandedCount = 0;
+
+        int size = 0;
+        int current = start;
+
+        while (current != goal) {
+
+            // Find the first open unvisited neighbor
+            int next = -1;
+            for (int i = 0; i < NEIGHBOR_ORDER.length && next == -1; i++) {
+                int direction = NEIGHBOR_ORDER[i];
+                if (walls.isOpen(current, direction)) {
+                    int neighbor = walls.neighbor(current, direction);
+                    if (!visited.isVisited(neighbor)) {
+                        next = neighbor;
+                    }
+                }
+            }
+
+            // Check if all neighbors are exhausted
+            if (next == -1) {
+                visited.visit(current);
+                if (trace != null) {
+                    trace.add(current, SolveTrace.BACKTRACK);
+                }
+
+                // The goal can not be reached once the start is exhausted
+                if (size == 0) {
+                    return new int[0];
+                }
+                current = stack[--size];
+            }
+            else {
+                stack[size++] = current;
+                visited.visit(current);
+                expandedCount++;
+                if (trace != null) {
+                    trace.add(current, SolveTrace.VISIT);
+                }
+                current = next;
+            }
+        }
+
+        // The path is the stack of cells leading to the goal
+        int path[] = new int[size + 1];
+        System.arraycopy(stack, 0, path, 0, size);
+        path[size] = goal;
+
+        return path;
+    }
+
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    public String getName() {
+        return "Depth-First Search";
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.Arrays;
+
+/*
+ * Growable log of packed edge ids, read back through a cursor.
+ *
+ * Each carved wall takes a single int, see WallGrid.edge and
+ * WallGrid.edgeCell for the packing.
+ */
+public class EdgeLog {
+
+    // Constant Default Capacity
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int edges[];
+    private int size;
+    private int cursor;
+
+    /*
+     * Constructor for the EdgeLog class.
+     */
+    public EdgeLog() {
+        edges = new int[DEFAULT_CAPACITY];
+        size = 0;
+        cursor = 0;
+    }
+
+    /*
+     * Makes room for at least the given number of edges.
+     *
+     * @param   capacity    The number of edges to make room for
+     */
+    public void ensureCapacity(int capacity) {
+        if (edges.length < capacity) {
+            edges = Arrays.copyOf(edges, capacity);
+        }
+    }
+
+    /*
+     * Appends an edge to the log.
+     *
+     * @param   edge        The packed edge id
+     */
+    public void add(int edge) {
+        if (size == edges.length) {
+            edges = Arrays.copyOf(edges, Math.max(DEFAULT_CAPACITY, edges.length * 2));
+        }
+        edges[size++] = edge;
+    }
+
+    /*
+     * Sets the number of edges in the log, growing it if needed. Used with
+     * set to fill the log out of order.
+     *
+     * @param   size        The new number of edges
+     */
+    public void setSize(int size) {
+        ensureCapacity(size);
+        this.size = size;
+    }
+
+    /*
+     * Overwrites an edge of the log.
+     *
+     * @param   i           The position in the log
+     * @param   edge        The packed edge id
+     */
+    public void set(int i, int edge) {
+        edges[i] = edge;
+    }
+
+    /*
+     * Empties the log, keeping its storage.
+     */
+    public void clear() {
+        size = 0;
+        cursor = 0;
+    }
+
+    /*
+     * Moves the cursor back to the first edge.
+     */
+    public void rewind() {
+        cursor = 0;
+    }
+
+    /*
+     * Checks if the cursor has edges left to read.
+     *
+     * @return      Whether or not there is a next edge
+     */
+    public boolean hasNext() {
+        return cursor < size;
+    }
+
+    /*
+     * Reads the edge under the cursor and moves past it.
+     *
+     * @return      The packed edge id
+     */
+    public int next() {
+        return edges[cursor++];
+    }
+
+
+    // GETTERS
+
+    public int size() {
+        return size;
+    }
+
+    public int getCursor() {
+        return cursor;
+    }
+
+    public int get(int i) {
+        return edges[i];
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/*
+ * Eller Maze Generator
+ *
+ * Builds the maze one row at a time, keeping only the set of each cell of
+ * the current row. Every set carves down at least once, so every set stays
+ * connected to the rows below, and the last row joins whatever sets are
+ * left. Memory is O(columns) whatever the height of the maze, so rows can
+ * be streamed to a MazeRowSink instead of being kept in a model.
+ */
+public class EllerGenerator implements MazeGenerator {
+
+    public void generate(final MazeModel mazeModel, SplittableRandom random) {
+
+        final WallGrid walls = mazeModel.getWalls();
+        final int columns = walls.getColumns();
+
+        stream(columns, walls.getRows(), random, new MazeRowSink() {
+            public void acceptRow(long r, long[] rightWalls, long[] bottomWalls) {
+                int rowStart = (int) r * columns;
+
+                for (int c = 0; c < columns - 1; c++) {
+                    if (!hasWall(rightWalls, c)) {
+                        mazeModel.carve(walls.edge(rowStart + c, WallGrid.RIGHT));
+                    }
+                }
+                if (r < walls.getRows() - 1) {
+                    for (int c = 0; c < columns; c++) {
+                        if (!hasWall(bottomWalls, c)) {
+                            mazeModel.carve(walls.edge(rowStart + c, WallGrid.DOWN));
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    /*
+     * Generate a maze row by row, handing each finished row to a sink.
+     *
+     * @param   columns     The number of columns of the maze
+     * @param   rows        The number of rows of the maze
+     * @param   random      The random stream of the generation
+     * @param   sink        The consumer of the finished rows
+     */
+    public void stream(int columns, long rows, SplittableRandom random, MazeRowSink sink) {
+
+        int words = (columns + 63) >>> 6;
+        long rightWalls[] = new long[words];
+        long bottomWalls[] = new long[words];
+
+        // Set of Each Cell in the Current Row, Set Ids are Below columns
+        int set[] = new int[columns];
+
+        // Per Set Scratch, Indexed by Set Id
+        int parent[] = new int[columns];
+        int remaining[] = new int[columns];
+        boolean carvedDown[] = new boolean[columns];
+        int freeIds[] = new int[columns];
+
+        // Every Cell of the First Row Starts in its Own Set
+        for (int c = 0; c < columns; c++) {
+            set[c] = c;
+        }
+
+        for (long r = 0; r < rows; r++) {
+            boolean lastRow = (r == rows - 1);
+
+            Arrays.fill(rightWalls, -1L);
+            Arrays.fill(bottomWalls, -1L);
+            for (int id = 0; id < columns; id++) {
+                parent[id] = id;
+            }
+
+            // Join Neighbors in Different Sets, Always on the Last Row
+            for (int c = 0; c < columns - 1; c++) {
+                int a = find(parent, set[c]);
+                int b = find(parent, set[c + 1]);
+
+                if (a != b && (lastRow || random.nextBoolean())) {
+                    parent[b] = a;
+                    clearWall(rightWalls, c);
+                }
+            }
+
+            // Resolve the Joined Sets
+            Arrays.fill(remaining, 0);
+            Arrays.fill(carvedDown, false);
+            for (int c = 0; c < columns; c++) {
+                set[c] = find(parent, set[c]);
+                remaining[set[c]]++;
+            }
+
+            if (!lastRow) {
+                // Carve Down at Random, at Least Once per Set
+                for (int c = 0; c < columns; c++) {
+                    int id = set[c];
+                    remaining[id]--;
+
+                    if (random.nextBoolean() || (remaining[id] == 0 && !carvedDown[id])) {
+                        carvedDown[id] = true;
+                        clearWall(bottomWalls, c);
+                    }
+                }
+
+                // Cells Below a Wall Start New Sets, Using Ids No Set Carried Down
+                int freeCount = 0;
+                for (int id = 0; id < columns; id++) {
+                    if (!carvedDown[id]) {
+                        freeIds[freeCount++] = id;
+                    }
+                }
+                for (int c = 0; c < columns; c++) {
+                    if (hasWall(bottomWalls, c)) {
+                        set[c] = freeIds[--freeCount];
+                    }
+                }
+            }
+
+            sink.acceptRow(r, rightWalls, bottomWalls);
+        }
+    }
+
+    /*
+     * Finds the root of a set, halving the path on the way.
+     *
+     * @param   parent  The set parents
+     * @param   id      The set to look up
+     * @return          The root of the set
+     */
+    private static int find(int[] parent, int id) {
+        while (parent[id] != id) {
+            parent[id] = parent[parent[id]];
+            id = parent[id];
+        }
+        return id;
+    }
+
+    /*
+     * Checks if a wall bit is set.
+     *
+     * @param   walls   The wall bits of a row
+     * @param   c       The column of the cell
+     * @return          Whether or not the wall is standing
+     */
+    public static boolean hasWall(long[] walls, int c) {
+        return (walls[c >>> 6] & (1L << c)) != 0;
+    }
+
+    private static void clearWall(long[] walls, int c) {
+        walls[c >>> 6] &= ~(1L << c);
+    }
+
+    public String getName() {
+        return "Eller";
+    }
+}
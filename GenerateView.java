@@ -13,19 +13,21 @@ import java.awt.*;
 public class GenerateView extends JPanel {
 
     // Constant Default Values
-    private static final int DEFAULT_SPEED = 6;
+    private static final int DEFAULT_SPEED = 4;
 
     // Constant Minimum and Maximum Row/Column Values
+    // Note: The maze itself has no size limit, the maximums only keep the
+    //       animation and the view's downsampled pyramid quick to rebuild
     private static final int MIN_ROW = 10;
-    private static final int MAX_ROW = 50;
+    private static final int MAX_ROW = 1000;
     private static final int MIN_COLUMN = 10;
-    private static final int MAX_COLUMN = 50;
+    private static final int MAX_COLUMN = 1000;
 
     // Generation Buttons
     private static JButton generateButton, resetButton;
 
     // Generation Labels
-    private static JLabel speedLabel, rowLabel, columnLabel;
+    private static JLabel speedLabel, rowLabel, columnLabel, algorithmLabel;
 
     // Generation Sliders
     private static JSlider speedSlider, rowSlider, columnSlider;
@@ -33,6 +35,9 @@ public class GenerateView extends JPanel {
     // Generation CheckBox
     private static JCheckBox showGenerationBox;
 
+    // Generation Algorithm Box
+    private static JComboBox<MazeGenerator> algorithmBox;
+
     /*
      * Constructor for the GenerateView class.
      *
@@ -51,6 +56,7 @@ public class GenerateView extends JPanel {
         speedLabel = new JLabel("Speed:");
         rowLabel = new JLabel("Row: " + Integer.toString(defaultRows));
         columnLabel = new JLabel("Column: " + Integer.toString(defaultColumns));
+        algorithmLabel = new JLabel("Algorithm:");
 
         // Initialize Sliders
         speedSlider = new JSlider(JSlider.HORIZONTAL, 2, 10, DEFAULT_SPEED);
@@ -61,13 +67,21 @@ public class GenerateView extends JPanel {
         showGenerationBox = new JCheckBox("Show Generation");
         showGenerationBox.setHorizontalAlignment(SwingConstants.CENTER);
 
+        // Initialize Algorithm Box
+        algorithmBox = new JComboBox<>(MazeEngine.getGenerators());
+        algorithmBox.setRenderer(new DefaultListCellRenderer() {
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                return super.getListCellRendererComponent(list, ((MazeGenerator) value).getName(), index, isSelected, cellHasFocus);
+            }
+        });
+
         // Set Up Labels
         speedLabel.setHorizontalAlignment(SwingConstants.CENTER);
         rowLabel.setHorizontalAlignment(SwingConstants.CENTER);
         columnLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        algorithmLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
         // Set Up Sliders
-        speedSlider.addChangeListener(C);
         rowSlider.addChangeListener(C);
         columnSlider.addChangeListener(C);
 
@@ -79,8 +93,11 @@ public class GenerateView extends JPanel {
         showGenerationBox.setSelected(true);
         showGenerationBox.addItemListener(C);
 
+        // Set Up Algorithm Box
+        algorithmBox.addActionListener(C);
+
         // Set Layout
-        setLayout(new GridLayout(9, 1, 0, 5));
+        setLayout(new GridLayout(11, 1, 0, 5));
 
         // Add Items to Panel
         add(speedLabel);
@@ -89,6 +106,8 @@ public class GenerateView extends JPanel {
         add(rowSlider);
         add(columnLabel);
         add(columnSlider);
+        add(algorithmLabel);
+        add(algorithmBox);
         add(showGenerationBox);
         add(generateButton);
         add(resetButton);
@@ -101,6 +120,7 @@ public class GenerateView extends JPanel {
     public void disableSliders() {
         rowSlider.setEnabled(false);
         columnSlider.setEnabled(false);
+        algorithmBox.setEnabled(false);
         showGenerationBox.setEnabled(false);
     }
 
@@ -110,6 +130,7 @@ public class GenerateView extends JPanel {
     public void enableSliders() {
         rowSlider.setEnabled(true);
         columnSlider.setEnabled(true);
+        algorithmBox.setEnabled(true);
         showGenerationBox.setEnabled(true);
     }
 
@@ -172,12 +193,21 @@ public class GenerateView extends JPanel {
     }
 
     /*
-     * Returns the default speed
+     * Returns the generation algorithm box.
+     *
+     * @return      the algorithm box
+     */
+    public JComboBox<MazeGenerator> getAlgorithmBox() {
+        return algorithmBox;
+    }
+
+    /*
+     * Returns the selected generation algorithm.
      *
-     * @return      the default speed
+     * @return      the selected maze generator
      */
-    public int getDefaultSpeed() {
-        return DEFAULT_SPEED;
+    public MazeGenerator getSelectedGenerator() {
+        return (MazeGenerator) algorithmBox.getSelectedItem();
     }
 
 
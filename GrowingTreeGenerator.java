@@ -0,0 +1,97 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.SplittableRandom;
+
+/*
+ * Growing Tree Maze Generator
+ *
+ * Keeps a list of active cells. Each step takes a cell from the list and
+ * carves into a random unvisited neighbor, or drops the cell once all its
+ * neighbors are visited. Taking the newest cell is the recursive
+ * backtracker, taking a random cell behaves like Prim's algorithm.
+ */
+public class GrowingTreeGenerator implements MazeGenerator {
+
+    // Selection Constants
+    public static final int NEWEST = 0;
+    public static final int OLDEST = 1;
+    public static final int RANDOM = 2;
+
+    private int selection;
+
+    /*
+     * Constructor for the GrowingTreeGenerator class.
+     *
+     * @param   selection   NEWEST, OLDEST or RANDOM
+     */
+    public GrowingTreeGenerator(int selection) {
+        this.selection = selection;
+    }
+
+    public void generate(MazeModel mazeModel, SplittableRandom random) {
+
+        WallGrid walls = mazeModel.getWalls();
+
+        // Active Cells Live Between head and tail, Each Cell is Added Once
+        int active[] = mazeModel.getScratch(0, walls.getRows() * walls.getColumns());
+        int head = 0;
+        int tail = 0;
+
+        mazeModel.unvisitCells();
+        active[tail++] = 0;
+        mazeModel.visit(0);
+
+        while (head < tail) {
+
+            // Select an Active Cell
+            int i;
+            if (selection == NEWEST) {
+                i = tail - 1;
+            }
+            else if (selection == OLDEST) {
+                i = head;
+            }
+            else {
+                i = head + random.nextInt(tail - head);
+            }
+            int cell = active[i];
+
+            int direction = mazeModel.randomNeighbor(cell, false, random);
+
+            if (direction == -1) {
+                // Drop the Cell Once its Neighbors are Visited
+                if (selection == NEWEST) {
+                    tail--;
+                }
+                else if (selection == OLDEST) {
+                    head++;
+                }
+                else {
+                    active[i] = active[--tail];
+                }
+            }
+            else {
+                int next = walls.neighbor(cell, direction);
+                mazeModel.carve(walls.edge(cell, direction));
+                mazeModel.visit(next);
+                active[tail++] = next;
+            }
+        }
+    }
+
+    public String getName() {
+        if (selection == NEWEST) {
+            return "Recursive Backtracker";
+        }
+        else if (selection == OLDEST) {
+            return "Growing Tree (Oldest)";
+        }
+        else {
+            return "Growing Tree (Random)";
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+/*
+ * Lifelong Planning A* Maze Solver
+ *
+ * Keeps its search between solves of the same maze, start and goal. Walls
+ * edited through MazeModel.setWall are read back from the model's edit log,
+ * and only the cells whose distance the edit changes are searched again, so
+ * a re-solve after a local edit touches a handful of cells instead of the
+ * whole maze. Any other change to the maze, or a new start or goal, starts
+ * the search over.
+ *
+ * Each cell has a distance g from the last search and a one-step lookahead
+ * rhs from its neighbors' distances. A cell is consistent when the two
+ * agree, and only inconsistent cells are queued, ordered like A* by
+ * min(g, rhs) plus the Manhattan distance to the goal.
+ *
+ * The trace shows the cells expanded by this solve followed by the path.
+ */
+public class IncrementalSolver implements MazeSolver {
+
+    // Distance of Unreached Cells
+    private static final int INFINITY = Integer.MAX_VALUE / 2;
+
+    // Search Being Kept
+    private MazeModel plannedModel;
+    private int plannedVersion;
+    private int plannedEdits;
+    private int start;
+    private int goal;
+
+    private WallGrid walls;
+    private int columns;
+    private int goalR;
+    private int goalC;
+
+    // Distances, Only Valid for Touched Cells
+    private VisitMarks touched;
+    private int g[];
+    private int rhs[];
+    private IndexedMinHeap open;
+
+    private int expandedCount;
+
+    /*
+     * Constructor for the IncrementalSolver class.
+     */
+    public IncrementalSolver() {
+        plannedModel = null;
+        touched = new VisitMarks(0);
+        g = new int[0];
+        rhs = new int[0];
+        open = new IndexedMinHeap();
+        expandedCount = 0;
+    }
+
+    public int[] solve(MazeModel mazeModel, int start, int goal, SolveTrace trace) {
+
+        EdgeLog edits = mazeModel.getWallEdits();
+        int newEdits = edits.size() - plannedEdits;
+
+        // Repair the search if every change since it is a logged wall edit
+        if (mazeModel == plannedModel && start == this.start && goal == this.goal
+                && newEdits >= 0 && mazeModel.getVersion() - plannedVersion == newEdits) {
+            for (int i = plannedEdits; i < edits.size(); i++) {
+                int edge = edits.get(i);
+                updateCell(WallGrid.edgeCell(edge));
+                updateCell(walls.edgeOtherCell(edge));
+            }
+        }
+        else {
+            plan(mazeModel, start, goal);
+        }
+        plannedVersion = mazeModel.getVersion();
+        plannedEdits = edits.size();
+
+        expandedCount = 0;
+        computeShortestPath(trace);
+
+        if (g(goal) >= INFINITY) {
+            return new int[0];
+        }
+
+        // Step back from the goal to the closest neighbor each time
+        int path[] = new int[g(goal) + 1];
+        int cell = goal;
+        path[path.length - 1] = goal;
+
+        for (int i = path.length - 2; i >= 0; i--) {
+            int closest = -1;
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(cell, direction)) {
+                    int neighbor = walls.neighbor(cell, direction);
+                    if (closest == -1 || g(neighbor) < g(closest)) {
+                        closest = neighbor;
+                    }
+                }
+            }
+            cell = closest;
+            path[i] = cell;
+        }
+
+        if (trace != null) {
+            for (int i = 0; i < path.length; i++) {
+                trace.add(path[i], SolveTrace.PATH);
+            }
+        }
+        return path;
+    }
+
+    /*
+     * Throws away the kept search and starts a new one.
+     *
+     * @param   mazeModel   The maze to search
+     * @param   start       The cell to start from
+     * @param   goal        The cell to reach
+     */
+    private void plan(MazeModel mazeModel, int start, int goal) {
+
+        int cellCount = mazeModel.getRows() * mazeModel.getColumns();
+
+        plannedModel = mazeModel;
+        this.start = start;
+        this.goal = goal;
+        walls = mazeModel.getWalls();
+        columns = mazeModel.getColumns();
+        goalR = goal / columns;
+        goalC = goal % columns;
+
+        touched.resize(cellCount);
+        touched.clear();
+        if (g.length < cellCount) {
+            g = new int[cellCount];
+            rhs = new int[cellCount];
+        }
+        open.reset(cellCount);
+
+        touch(start);
+        rhs[start] = 0;
+        open.push(start, key(start));
+    }
+
+    /*
+     * Expands inconsistent cells until the goal is consistent and nothing
+     * queued could still lower its distance.
+     *
+     * @param   trace       The trace to record the expanded cells in, or null
+     */
+    private void computeShortestPath(SolveTrace trace) {
+
+        while (!open.isEmpty() && (open.minKey() < key(goal) || rhs(goal) != g(goal))) {
+            int cell = open.pop();
+            expandedCount++;
+            if (trace != null) {
+                trace.add(cell, SolveTrace.VISIT);
+            }
+
+            if (g[cell] > rhs[cell]) {
+                // Overconsistent, the distance settles at the lookahead
+                g[cell] = rhs[cell];
+            }
+            else {
+                // Underconsistent, the distance was cut off and is redone
+                g[cell] = INFINITY;
+                updateCell(cell);
+            }
+
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(cell, direction)) {
+                    updateCell(walls.neighbor(cell, direction));
+                }
+            }
+        }
+    }
+
+    /*
+     * Recomputes the lookahead of a cell from its open neighbors and queues
+     * the cell if it became inconsistent.
+     *
+     * @param   cell    The cell to update
+     */
+    private void updateCell(int cell) {
+        touch(cell);
+
+        if (cell != start) {
+            int best = INFINITY;
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(cell, direction)) {
+                    int distance = g(walls.neighbor(cell, direction));
+                    if (distance < INFINITY && distance + 1 < best) {
+                        best = distance + 1;
+                    }
+                }
+            }
+            rhs[cell] = best;
+        }
+
+        if (g[cell] != rhs[cell]) {
+            open.update(cell, key(cell));
+        }
+        else {
+            open.remove(cell);
+        }
+    }
+
+    /*
+     * Makes a cell part of the search, unreached until a neighbor leads to it.
+     *
+     * @param   cell    The cell to touch
+     */
+    private void touch(int cell) {
+        if (!touched.isVisited(cell)) {
+            touched.visit(cell);
+            g[cell] = INFINITY;
+            rhs[cell] = INFINITY;
+        }
+    }
+
+    private int g(int cell) {
+        return touched.isVisited(cell) ? g[cell] : INFINITY;
+    }
+
+    private int rhs(int cell) {
+        return touched.isVisited(cell) ? rhs[cell] : INFINITY;
+    }
+
+    /*
+     * Builds the heap priority of a cell, the smaller of its distance and
+     * lookahead plus the Manhattan distance to the goal in the high half, and
+     * the smaller of the two alone in the low half.
+     *
+     * @param   cell    The cell
+     * @return          The priority of the cell
+     */
+    private long key(int cell) {
+        long distance = Math.min(g(cell), rhs(cell));
+        int r = cell / columns;
+        int c = cell - r * columns;
+        long remaining = Math.abs(r - goalR) + Math.abs(c - goalC);
+        return ((distance + remaining) << 32) | distance;
+    }
+
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    public String getName() {
+        return "LPA* (Incremental)";
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+/*
+ * Indexed binary min-heap of cells keyed by long priorities.
+ *
+ * Every cell knows its position in the heap, so its priority can be lowered
+ * in place. A cell is in the heap only if the heap slot its position points
+ * at holds that cell, so clearing the heap never touches the positions.
+ */
+public class IndexedMinHeap {
+
+    private int heap[];
+    private long keys[];
+    private int positions[];
+    private int size;
+
+    /*
+     * Constructor for the IndexedMinHeap class.
+     */
+    public IndexedMinHeap() {
+        heap = new int[0];
+        keys = new long[0];
+        positions = new int[0];
+        size = 0;
+    }
+
+    /*
+     * Makes room for the given number of cells and empties the heap.
+     *
+     * @param   cellCount   The number of cells that may be added
+     */
+    public void reset(int cellCount) {
+        if (positions.length < cellCount) {
+            heap = new int[cellCount];
+            keys = new long[cellCount];
+            positions = new int[cellCount];
+        }
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /*
+     * Checks if a cell is in the heap.
+     *
+     * @param   cell    The cell to check
+     * @return          Whether or not the cell is in the heap
+     */
+    public boolean contains(int cell) {
+        int position = positions[cell];
+        return position >= 0 && position < size && heap[position] == cell;
+    }
+
+    /*
+     * Adds a cell, or lowers its priority if it is already in the heap.
+     *
+     * @param   cell        The cell to add
+     * @param   key         The priority of the cell
+     */
+    public void push(int cell, long key) {
+        if (contains(cell)) {
+            if (key < keys[cell]) {
+                keys[cell] = key;
+                siftUp(positions[cell]);
+            }
+        }
+        else {
+            heap[size] = cell;
+            positions[cell] = size;
+            keys[cell] = key;
+            siftUp(size++);
+        }
+    }
+
+    /*
+     * Adds a cell, or moves it to a new priority higher or lower than its
+     * old one if it is already in the heap.
+     *
+     * @param   cell        The cell to add
+     * @param   key         The priority of the cell
+     */
+    public void update(int cell, long key) {
+        if (contains(cell)) {
+            long oldKey = keys[cell];
+            keys[cell] = key;
+            if (key < oldKey) {
+                siftUp(positions[cell]);
+            }
+            else {
+                siftDown(positions[cell]);
+            }
+        }
+        else {
+            push(cell, key);
+        }
+    }
+
+    /*
+     * Removes a cell from the heap if it is in it.
+     *
+     * @param   cell        The cell to remove
+     */
+    public void remove(int cell) {
+        if (!contains(cell)) {
+            return;
+        }
+        int position = positions[cell];
+        size--;
+        if (position < size) {
+            int last = heap[size];
+            heap[position] = last;
+            positions[last] = position;
+            siftDown(position);
+            siftUp(positions[last]);
+        }
+    }
+
+    /*
+     * Gets the lowest priority in the heap, which must not be empty.
+     *
+     * @return      The priority of the top cell
+     */
+    public long minKey() {
+        return keys[heap[0]];
+    }
+
+    /*
+     * Removes the cell with the lowest priority.
+     *
+     * @return      The removed cell
+     */
+    public int pop() {
+        int top = heap[0];
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int position) {
+        int cell = heap[position];
+        long key = keys[cell];
+
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+            heap[position] = heap[parent];
+            positions[heap[position]] = position;
+            position = parent;
+        }
+        heap[position] = cell;
+        positions[cell] = position;
+    }
+
+    private void siftDown(int position) {
+        int cell = heap[position];
+        long key = keys[cell];
+
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (keys[heap[child]] >= key) {
+                break;
+            }
+            heap[position] = heap[child];
+            positions[heap[position]] = position;
+            position = child;
+        }
+        heap[position] = cell;
+        positions[cell] = position;
+    }
+}
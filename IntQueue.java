@@ -0,0 +1,80 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+/*
+ * Growable ring buffer queue of ints.
+ */
+public class IntQueue {
+
+    // Constant Default Capacity, Always a Power of Two
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int values[];
+    private int head;
+    private int size;
+
+    /*
+     * Constructor for the IntQueue class.
+     */
+    public IntQueue() {
+        values = new int[DEFAULT_CAPACITY];
+        head = 0;
+        size = 0;
+    }
+
+    /*
+     * Adds a value to the back of the queue.
+     *
+     * @param   value       The value to add
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            grow();
+        }
+        values[(head + size) & (values.length - 1)] = value;
+        size++;
+    }
+
+    /*
+     * Removes the value at the front of the queue.
+     *
+     * @return      The removed value
+     */
+    public int remove() {
+        int value = values[head];
+        head = (head + 1) & (values.length - 1);
+        size--;
+        return value;
+    }
+
+    /*
+     * Empties the queue, keeping its storage.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /*
+     * Doubles the storage, unwrapping the values to the front.
+     */
+    private void grow() {
+        int newValues[] = new int[values.length * 2];
+        for (int i = 0; i < size; i++) {
+            newValues[i] = values[(head + i) & (values.length - 1)];
+        }
+        values = newValues;
+        head = 0;
+    }
+}
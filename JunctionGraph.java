@@ -0,0 +1,312 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.Arrays;
+
+/*
+ * Weighted graph of the junctions of a maze.
+ *
+ * Every cell with other than two openings, a junction or a dead end, becomes
+ * a node, and every corridor of two-opening cells between two nodes collapses
+ * into one edge weighted by its number of steps. The edges of node i are
+ * stored in compressed sparse row form from edgeStart[i] up to
+ * edgeStart[i + 1], along with the direction each corridor leaves its node
+ * in, so a route over the graph can be walked back out into cells.
+ *
+ * Edges from a junction into a dead end are left out, a route can only
+ * pass through junctions, so a search never wanders into dead ends. A route
+ * that ends at a dead end joins the graph at the far end of its corridor.
+ *
+ * A ring of corridor cells with no junction on it gets one of its cells
+ * promoted to a node, so every cell lies on a node or a corridor.
+ *
+ * A walk along a corridor is packed into a long, the number of steps in the
+ * high half and the cell reached shifted left by two over the direction of
+ * the last step in the low half.
+ */
+public class JunctionGraph {
+
+    // Node of Each Cell, -1 for Corridor Cells
+    private int nodeOf[];
+
+    // Cell of Each Node
+    private int nodeCell[];
+    private int nodeCount;
+
+    // Edges in Compressed Sparse Row Form
+    private int edgeStart[];
+    private int edgeTarget[];
+    private int edgeWeight[];
+    private byte edgeDirection[];
+    private int edgeCount;
+
+    // Corridor Cells Covered by an Edge, Used While Building
+    private VisitMarks covered;
+
+    private WallGrid walls;
+
+    /*
+     * Constructor for the JunctionGraph class.
+     */
+    public JunctionGraph() {
+        nodeOf = new int[0];
+        nodeCell = new int[16];
+        edgeStart = new int[17];
+        edgeTarget = new int[16];
+        edgeWeight = new int[16];
+        edgeDirection = new byte[16];
+        covered = new VisitMarks(0);
+        nodeCount = 0;
+        edgeCount = 0;
+    }
+
+    /*
+     * Collapses the corridors of a maze. The graph reads the walls of the
+     * maze to expand routes, so it has to be rebuilt when they change.
+     *
+     * @param   mazeModel   The maze to build the graph of
+     */
+    public void build(MazeModel mazeModel) {
+
+        walls = mazeModel.getWalls();
+        int cellCount = mazeModel.getRows() * mazeModel.getColumns();
+
+        if (nodeOf.length < cellCount) {
+            nodeOf = new int[cellCount];
+        }
+        covered.resize(cellCount);
+        nodeCount = 0;
+        edgeCount = 0;
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            nodeOf[cell] = -1;
+            if (openings(cell) != 2) {
+                addNode(cell);
+            }
+        }
+
+        // Edges are added node by node, which keeps them in row order
+        int junctions = nodeCount;
+        for (int node = 0; node < junctions; node++) {
+            addEdges(node);
+        }
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (nodeOf[cell] == -1 && !covered.isVisited(cell)) {
+                addEdges(addNode(cell));
+            }
+        }
+        edgeStart[nodeCount] = edgeCount;
+    }
+
+    /*
+     * Makes a cell a node of the graph.
+     *
+     * @param   cell    The cell of the node
+     * @return          The new node
+     */
+    private int addNode(int cell) {
+        if (nodeCount == nodeCell.length) {
+            nodeCell = Arrays.copyOf(nodeCell, nodeCount * 2);
+            edgeStart = Arrays.copyOf(edgeStart, nodeCount * 2 + 1);
+        }
+        nodeOf[cell] = nodeCount;
+        nodeCell[nodeCount] = cell;
+        return nodeCount++;
+    }
+
+    /*
+     * Walks every corridor leaving a node and adds an edge for each, leaving
+     * out those from a junction into a dead end.
+     *
+     * @param   node    The node to add the edges of
+     */
+    private void addEdges(int node) {
+        edgeStart[node] = edgeCount;
+        int cell = nodeCell[node];
+
+        boolean junction = openings(cell) > 2;
+
+        for (int direction = 0; direction < 4; direction++) {
+            if (walls.isOpen(cell, direction)) {
+                long walk = walk(cell, direction, -1, true);
+
+                // A route only ends at a dead end, never passes through one
+                if (junction && openings(walkCell(walk)) == 1) {
+                    continue;
+                }
+
+                if (edgeCount == edgeTarget.length) {
+                    edgeTarget = Arrays.copyOf(edgeTarget, edgeCount * 2);
+                    edgeWeight = Arrays.copyOf(edgeWeight, edgeCount * 2);
+                    edgeDirection = Arrays.copyOf(edgeDirection, edgeCount * 2);
+                }
+                edgeTarget[edgeCount] = nodeOf[walkCell(walk)];
+                edgeWeight[edgeCount] = walkSteps(walk);
+                edgeDirection[edgeCount] = (byte) direction;
+                edgeCount++;
+            }
+        }
+    }
+
+    /*
+     * Counts the openings of a cell.
+     *
+     * @param   cell    The cell
+     * @return          The number of open sides
+     */
+    private int openings(int cell) {
+        int count = 0;
+        for (int direction = 0; direction < 4; direction++) {
+            if (walls.isOpen(cell, direction)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /*
+     * Walks a corridor until it reaches a node or a given cell.
+     *
+     * @param   cell        The cell to walk from
+     * @param   direction   The direction of the first step
+     * @param   stopCell    A cell to stop at even if it is not a node, or -1
+     * @return              The packed walk
+     */
+    public long walk(int cell, int direction, int stopCell) {
+        return walk(cell, direction, stopCell, false);
+    }
+
+    private long walk(int cell, int direction, int stopCell, boolean cover) {
+        int steps = 0;
+
+        while (true) {
+            cell = walls.neighbor(cell, direction);
+            steps++;
+            if (nodeOf[cell] != -1 || cell == stopCell) {
+                return ((long) steps << 32) | ((cell << 2) & 0xFFFFFFFFL) | direction;
+            }
+            if (cover) {
+                covered.visit(cell);
+            }
+            direction = corridorExit(cell, direction);
+        }
+    }
+
+    /*
+     * Writes the cells of a walk along a corridor into an array, not counting
+     * the cell walked from.
+     *
+     * @param   cell        The cell to walk from
+     * @param   direction   The direction of the first step
+     * @param   steps       The number of steps to take
+     * @param   out         The array to write the cells to
+     * @param   position    The position of the first cell written
+     * @return              The position after the last cell written
+     */
+    public int expand(int cell, int direction, int steps, int[] out, int position) {
+        for (int step = 1; step <= steps; step++) {
+            cell = walls.neighbor(cell, direction);
+            out[position++] = cell;
+            if (step < steps) {
+                direction = corridorExit(cell, direction);
+            }
+        }
+        return position;
+    }
+
+    /*
+     * Gets the way out of a corridor cell that was entered in a direction.
+     *
+     * @param   cell        The corridor cell
+     * @param   direction   The direction of the step into the cell
+     * @return              The direction of the other opening
+     */
+    private int corridorExit(int cell, int direction) {
+        int back = direction ^ 2;
+        for (int exit = 0; exit < 4; exit++) {
+            if (exit != back && walls.isOpen(cell, exit)) {
+                return exit;
+            }
+        }
+        return back;
+    }
+
+    /*
+     * Gets the number of steps of a packed walk.
+     *
+     * @param   walk    The packed walk
+     * @return          The number of steps taken
+     */
+    public static int walkSteps(long walk) {
+        return (int) (walk >>> 32);
+    }
+
+    /*
+     * Gets the cell a packed walk ended at.
+     *
+     * @param   walk    The packed walk
+     * @return          The cell reached
+     */
+    public static int walkCell(long walk) {
+        return (int) ((walk & 0xFFFFFFFFL) >>> 2);
+    }
+
+    /*
+     * Gets the direction of the last step of a packed walk.
+     *
+     * @param   walk    The packed walk
+     * @return          The direction of the step into the cell reached
+     */
+    public static int walkDirection(long walk) {
+        return (int) (walk & 3);
+    }
+
+
+    // GETTERS
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /*
+     * Checks if a node is a dead end, which no edge from a junction leads to.
+     *
+     * @param   node    The node
+     * @return          Whether or not the node has a single opening
+     */
+    public boolean isDeadEnd(int node) {
+        return openings(nodeCell[node]) == 1;
+    }
+
+    public int getNode(int cell) {
+        return nodeOf[cell];
+    }
+
+    public int getNodeCell(int node) {
+        return nodeCell[node];
+    }
+
+    public int getEdgeStart(int node) {
+        return edgeStart[node];
+    }
+
+    public int getEdgeTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    public int getEdgeWeight(int edge) {
+        return edgeWeight[edge];
+    }
+
+    public int getEdgeDirection(int edge) {
+        return edgeDirection[edge];
+    }
+}
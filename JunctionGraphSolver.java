@@ -0,0 +1,291 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+/*
+ * Junction Graph Maze Solver
+ *
+ * Runs A* over the JunctionGraph of the maze instead of its cells, so a
+ * whole corridor is crossed in one step, then walks the route back out into
+ * cells. The graph is built on the first solve of a maze and kept until the
+ * maze changes, so repeat solves on the same maze only pay for the search.
+ *
+ * A start or goal in the middle of a corridor is joined to the nodes at both
+ * ends of it, and a goal at a dead end to the node at the far end of its
+ * corridor. The trace shows the junctions expanded followed by the path.
+ */
+public class JunctionGraphSolver implements MazeSolver {
+
+    private JunctionGraph graph;
+    private MazeModel graphModel;
+    private int graphVersion;
+
+    // Search State, Indexed by Node
+    private VisitMarks seen;
+    private VisitMarks closed;
+    private int distance[];
+    private int parentEdge[];
+    private int parentNode[];
+    private int startDirection[];
+    private IndexedMinHeap open;
+
+    // Ways From the Goal's Corridor Onto the Graph
+    private int goalNode[];
+    private int goalSteps[];
+    private int goalDirection[];
+    private int goalWays;
+
+    // Edges of the Route, Goal First
+    private int route[];
+
+    private int expandedCount;
+
+    /*
+     * Constructor for the JunctionGraphSolver class.
+     */
+    public JunctionGraphSolver() {
+        graph = new JunctionGraph();
+        graphModel = null;
+        seen = new VisitMarks(0);
+        closed = new VisitMarks(0);
+        distance = new int[0];
+        parentEdge = new int[0];
+        parentNode = new int[0];
+        startDirection = new int[0];
+        open = new IndexedMinHeap();
+        goalNode = new int[3];
+        goalSteps = new int[3];
+        goalDirection = new int[3];
+        route = new int[0];
+        expandedCount = 0;
+    }
+
+    public int[] solve(MazeModel mazeModel, int start, int goal, SolveTrace trace) {
+
+        if (mazeModel != graphModel || mazeModel.getVersion() != graphVersion) {
+            graph.build(mazeModel);
+            graphModel = mazeModel;
+            graphVersion = mazeModel.getVersion();
+        }
+
+        WallGrid walls = mazeModel.getWalls();
+        int columns = mazeModel.getColumns();
+        int nodeCount = graph.getNodeCount();
+
+        seen.resize(nodeCount);
+        closed.resize(nodeCount);
+        if (distance.length < nodeCount) {
+            distance = new int[nodeCount];
+            parentEdge = new int[nodeCount];
+            parentNode = new int[nodeCount];
+            startDirection = new int[nodeCount];
+            route = new int[nodeCount];
+        }
+        open.reset(nodeCount);
+        expandedCount = 0;
+
+        if (start == goal) {
+            if (trace != null) {
+                trace.add(start, SolveTrace.VISIT);
+                trace.add(start, SolveTrace.PATH);
+            }
+            return new int[] {start};
+        }
+
+        int goalR = goal / columns;
+        int goalC = goal % columns;
+
+        // Best Route Found So Far, -1 for a Straight Walk Along the Corridor
+        long best = Long.MAX_VALUE;
+        int bestNode = -1;
+        int bestWay = -1;
+        int straightDirection = -1;
+
+        // Join the Start to the Graph
+        if (graph.getNode(start) != -1) {
+            seed(graph.getNode(start), 0, -1, goalR, goalC, columns);
+        }
+        else {
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(start, direction)) {
+                    long walk = graph.walk(start, direction, goal);
+                    int steps = JunctionGraph.walkSteps(walk);
+                    int cell = JunctionGraph.walkCell(walk);
+
+                    if (cell == goal) {
+                        if (steps < best) {
+                            best = steps;
+                            straightDirection = direction;
+                        }
+                    }
+                    else {
+                        seed(graph.getNode(cell), steps, direction, goalR, goalC, columns);
+                    }
+                }
+            }
+        }
+
+        // Join the Goal to the Graph
+        goalWays = 0;
+        if (graph.getNode(goal) != -1) {
+            addGoalWay(graph.getNode(goal), 0, -1);
+        }
+        if (graph.getNode(goal) == -1 || graph.isDeadEnd(graph.getNode(goal))) {
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(goal, direction)) {
+                    long walk = graph.walk(goal, direction, -1);
+                    addGoalWay(graph.getNode(JunctionGraph.walkCell(walk)), JunctionGraph.walkSteps(walk),
+                            JunctionGraph.walkDirection(walk) ^ 2);
+                }
+            }
+        }
+
+        while (!open.isEmpty()) {
+            int node = open.pop();
+
+            // Nothing left in the heap can beat the best route
+            if (distance[node] + manhattan(graph.getNodeCell(node), goalR, goalC, columns) >= best) {
+                break;
+            }
+
+            closed.visit(node);
+            expandedCount++;
+            if (trace != null) {
+                trace.add(graph.getNodeCell(node), SolveTrace.VISIT);
+            }
+
+            for (int way = 0; way < goalWays; way++) {
+                if (goalNode[way] == node && distance[node] + goalSteps[way] < best) {
+                    best = distance[node] + goalSteps[way];
+                    bestNode = node;
+                    bestWay = way;
+                }
+            }
+
+            int last = graph.getEdgeStart(node + 1);
+            for (int edge = graph.getEdgeStart(node); edge < last; edge++) {
+                int next = graph.getEdgeTarget(edge);
+                int nextDistance = distance[node] + graph.getEdgeWeight(edge);
+
+                if (!closed.isVisited(next) && (!seen.isVisited(next) || nextDistance < distance[next])) {
+                    seen.visit(next);
+                    distance[next] = nextDistance;
+                    parentEdge[next] = edge;
+                    parentNode[next] = node;
+                    open.push(next, key(nextDistance, graph.getNodeCell(next), goalR, goalC, columns));
+                }
+            }
+        }
+
+        if (best == Long.MAX_VALUE) {
+            return new int[0];
+        }
+
+        int path[] = new int[(int) best + 1];
+        int position = 0;
+        path[position++] = start;
+
+        if (bestNode == -1) {
+            position = graph.expand(start, straightDirection, (int) best, path, position);
+        }
+        else {
+            // Collect the edges back to the node the start joined at
+            int edges = 0;
+            int node = bestNode;
+            while (parentEdge[node] != -1) {
+                route[edges++] = parentEdge[node];
+                node = parentNode[node];
+            }
+
+            if (startDirection[node] != -1) {
+                position = graph.expand(start, startDirection[node], distance[node], path, position);
+            }
+            for (int i = edges - 1; i >= 0; i--) {
+                int edge = route[i];
+                int from = (i == edges - 1) ? node : graph.getEdgeTarget(route[i + 1]);
+                position = graph.expand(graph.getNodeCell(from), graph.getEdgeDirection(edge),
+                        graph.getEdgeWeight(edge), path, position);
+            }
+            if (goalDirection[bestWay] != -1) {
+                position = graph.expand(graph.getNodeCell(bestNode), goalDirection[bestWay], goalSteps[bestWay],
+                        path, position);
+            }
+        }
+
+        if (trace != null) {
+            for (int i = 0; i < path.length; i++) {
+                trace.add(path[i], SolveTrace.PATH);
+            }
+        }
+        return path;
+    }
+
+    /*
+     * Puts a node the start is joined to into the heap.
+     *
+     * @param   node        The node
+     * @param   steps       The number of steps from the start to the node
+     * @param   direction   The direction the start leaves towards the node,
+     *                      -1 if the start is the node
+     */
+    private void seed(int node, int steps, int direction, int goalR, int goalC, int columns) {
+        if (!seen.isVisited(node) || steps < distance[node]) {
+            seen.visit(node);
+            distance[node] = steps;
+            parentEdge[node] = -1;
+            startDirection[node] = direction;
+            open.push(node, key(steps, graph.getNodeCell(node), goalR, goalC, columns));
+        }
+    }
+
+    /*
+     * Records a node the goal is joined to.
+     *
+     * @param   node        The node
+     * @param   steps       The number of steps from the node to the goal
+     * @param   direction   The direction the node leaves towards the goal,
+     *                      -1 if the goal is the node
+     */
+    private void addGoalWay(int node, int steps, int direction) {
+        goalNode[goalWays] = node;
+        goalSteps[goalWays] = steps;
+        goalDirection[goalWays] = direction;
+        goalWays++;
+    }
+
+    /*
+     * Builds the heap priority of a node, the estimated route length in the
+     * high half and the distance left to the goal in the low half. Corridors
+     * are never shorter than the Manhattan distance between their ends, so
+     * the estimate never overshoots.
+     */
+    private static long key(int distance, int cell, int goalR, int goalC, int columns) {
+        long remaining = manhattan(cell, goalR, goalC, columns);
+        return ((distance + remaining) << 32) | remaining;
+    }
+
+    private static int manhattan(int cell, int goalR, int goalC, int columns) {
+        int r = cell / columns;
+        int c = cell - r * columns;
+        return Math.abs(r - goalR) + Math.abs(c - goalC);
+    }
+
+    /*
+     * Gets the junction graph of the last maze solved.
+     *
+     * @return      The junction graph
+     */
+    public JunctionGraph getGraph() {
+        return graph;
+    }
+
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    public String getName() {
+        return "A* (Junction Graph)";
+    }
+}
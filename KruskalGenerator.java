@@ -0,0 +1,110 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.SplittableRandom;
+
+/*
+ * Kruskal Maze Generator
+ *
+ * Shuffles every inner wall and breaks a wall whenever the cells on either
+ * side are not yet connected. Connectivity is tracked by a union-find over
+ * flat cell indices. Needs about 12 bytes per cell for the wall list and
+ * the union-find.
+ */
+public class KruskalGenerator implements MazeGenerator {
+
+    public void generate(MazeModel mazeModel, SplittableRandom random) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int rows = walls.getRows();
+        int columns = walls.getColumns();
+        int cellCount = rows * columns;
+
+        // List Every Inner Wall
+        int edges[] = mazeModel.getScratch(0, rows * (columns - 1) + (rows - 1) * columns);
+        int edgeCount = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                int cell = r * columns + c;
+                if (c < columns - 1) {
+                    edges[edgeCount++] = walls.edge(cell, WallGrid.RIGHT);
+                }
+                if (r < rows - 1) {
+                    edges[edgeCount++] = walls.edge(cell, WallGrid.DOWN);
+                }
+            }
+        }
+
+        // Each Root Holds the Negative Size of its Set
+        int parent[] = mazeModel.getScratch(1, cellCount);
+        for (int i = 0; i < cellCount; i++) {
+            parent[i] = -1;
+        }
+
+        // Visit the Walls in a Random Order, Shuffling as We Go
+        int carved = 0;
+        for (int i = 0; i < edgeCount && carved < cellCount - 1; i++) {
+            int j = i + random.nextInt(edgeCount - i);
+            int edge = edges[j];
+            edges[j] = edges[i];
+            edges[i] = edge;
+
+            int a = WallGrid.edgeCell(edge);
+            int b = WallGrid.isBottomEdge(edge) ? a + columns : a + 1;
+
+            if (union(parent, a, b)) {
+                mazeModel.carve(edge);
+                carved++;
+            }
+        }
+    }
+
+    /*
+     * Finds the root of a cell's set, halving the path on the way.
+     *
+     * @param   parent  The union-find parents
+     * @param   cell    The cell to look up
+     * @return          The root of the set
+     */
+    private static int find(int[] parent, int cell) {
+        while (parent[cell] >= 0) {
+            if (parent[parent[cell]] >= 0) {
+                parent[cell] = parent[parent[cell]];
+            }
+            cell = parent[cell];
+        }
+        return cell;
+    }
+
+    /*
+     * Joins the sets of two cells, the smaller set under the larger.
+     *
+     * @param   parent  The union-find parents
+     * @param   a       The first cell
+     * @param   b       The second cell
+     * @return          Whether the cells were in different sets
+     */
+    private static boolean union(int[] parent, int a, int b) {
+        a = find(parent, a);
+        b = find(parent, b);
+
+        if (a == b) {
+            return false;
+        }
+        if (parent[a] > parent[b]) {
+            int temp = a;
+            a = b;
+            b = temp;
+        }
+        parent[a] += parent[b];
+        parent[b] = a;
+        return true;
+    }
+
+    public String getName() {
+        return "Kruskal";
+    }
+}
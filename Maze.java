@@ -16,23 +16,23 @@ public class Maze {
     private static final int DEFAULT_ROW = 30;
     private static final int DEFAULT_COLUMN = 30;
 
-    // Model, View, and Controller
+    // Engine, View, and Controller
     private static Controller controller;
     private static View view;
-    private static MazeModel mazeModel;
+    private static MazeEngine mazeEngine;
 
     /*
     * Creates the Maze Game.
     */
     public static void main(String arg[]) {
 
-        // Initialize the Controller, Model, and View
+        // Initialize the Controller, Engine, and View
         controller = new Controller();
-        mazeModel = new MazeModel();
-        view = new View(mazeModel.getCells(), DEFAULT_ROW, DEFAULT_COLUMN, controller);
+        mazeEngine = new MazeEngine(DEFAULT_ROW, DEFAULT_COLUMN);
+        view = new View(DEFAULT_ROW, DEFAULT_COLUMN, controller);
 
-        // Pass the Model and View to the Controller
-        controller.setMaze(mazeModel);
+        // Pass the Engine and View to the Controller
+        controller.setEngine(mazeEngine);
         controller.setView(view);
 
         view.addWindowListener(new WindowAdapter() {
@@ -0,0 +1,357 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.SplittableRandom;
+
+/*
+ * Headless engine that generates and solves mazes.
+ *
+ * The engine does not depend on Swing or AWT, the Controller is only one of
+ * its clients. Cells are reported as flat row-major indices.
+ *
+ * Generation is delegated to a MazeGenerator and driven by a SplittableRandom
+ * seeded per maze, so the same seed and algorithm always carve the same
+ * maze. To generate on several threads, take one stream per worker from
+ * splitStreams on the calling thread; the streams are independent and
+ * nothing is shared between workers.
+ */
+public class MazeEngine {
+
+    // Constant Starting Coordinates
+    private static final int START_R = 0;
+    private static final int START_C = 0;
+
+    // Seed Source for Unseeded Generations
+    private SplittableRandom seeds;
+
+    // Generation and Solving Algorithms
+    private MazeGenerator generator;
+    private MazeSolver solver;
+
+    // Model
+    private MazeModel mazeModel;
+    private long seed;
+    private int rows;
+    private int columns;
+
+    // Solution
+    private SolveTrace solveTrace;
+    private int solutionPath[];
+
+    // Route Index, Built on First Use After Each Change to the Walls
+    private MazeTreeIndex treeIndex;
+    private int treeIndexVersion;
+    private boolean treeIndexSpans;
+
+    // Route Search for Mazes With Loops or Unreached Cells
+    private BreadthFirstSolver routeSolver;
+
+
+    /*
+     * Constructor for the MazeEngine class.
+     *
+     * @param   defaultRows     The default number of rows for the maze
+     * @param   defaultColumns  The default number of columns for the maze
+     */
+    public MazeEngine(int defaultRows, int defaultColumns) {
+        rows = defaultRows;
+        columns = defaultColumns;
+
+        seeds = new SplittableRandom();
+        generator = new GrowingTreeGenerator(GrowingTreeGenerator.NEWEST);
+        solver = new DepthFirstSolver();
+
+        mazeModel = new MazeModel(defaultRows, defaultColumns);
+        solveTrace = new SolveTrace();
+        solutionPath = new int[0];
+        treeIndex = new MazeTreeIndex();
+        routeSolver = new BreadthFirstSolver();
+
+        // No version of the walls is below 0, so the index is built on first use
+        treeIndexVersion = -1;
+    }
+
+    /*
+     * Gets one of each available generation algorithm.
+     *
+     * @return      The maze generators
+     */
+    public static MazeGenerator[] getGenerators() {
+        return new MazeGenerator[] {
+            new GrowingTreeGenerator(GrowingTreeGenerator.NEWEST),
+            new GrowingTreeGenerator(GrowingTreeGenerator.OLDEST),
+            new GrowingTreeGenerator(GrowingTreeGenerator.RANDOM),
+            new KruskalGenerator(),
+            new PrimGenerator(),
+            new WilsonGenerator(),
+            new SidewinderGenerator(),
+            new BinaryTreeGenerator(),
+            new EllerGenerator(),
+            new TiledGenerator(new GrowingTreeGenerator(GrowingTreeGenerator.NEWEST), 16)
+        };
+    }
+
+    /*
+     * Splits independent random streams off a seed, one per worker.
+     *
+     * @param   seed        The seed to split
+     * @param   count       The number of streams
+     * @return              The random streams
+     */
+    public static SplittableRandom[] splitStreams(long seed, int count) {
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom streams[] = new SplittableRandom[count];
+        for (int i = 0; i < count; i++) {
+            streams[i] = root.split();
+        }
+        return streams;
+    }
+
+    /*
+     * Gets one of each available solving algorithm.
+     *
+     * @return      The maze solvers
+     */
+    public static MazeSolver[] getSolvers() {
+        return new MazeSolver[] {
+            new DepthFirstSolver(),
+            new BreadthFirstSolver(),
+            new AStarSolver(),
+            new BidirectionalSolver(),
+            new DeadEndFillingSolver(),
+            new ParallelBreadthFirstSolver(),
+            new JunctionGraphSolver(),
+            new IncrementalSolver()
+        };
+    }
+
+    /*
+     * Generate a new maze from a fresh seed.
+     *
+     * @param   rows        The number of rows of the maze
+     * @param   columns     The number of columns of the maze
+     * @return              The generated maze
+     */
+    public MazeModel generate(int rows, int columns) {
+        return generate(rows, columns, seeds.nextLong());
+    }
+
+    /*
+     * Generate a new maze from a seed.
+     *
+     * @param   rows        The number of rows of the maze
+     * @param   columns     The number of columns of the maze
+     * @param   seed        The seed of the maze
+     * @return              The generated maze
+     */
+    public MazeModel generate(int rows, int columns, long seed) {
+
+        this.rows = rows;
+        this.columns = columns;
+        this.seed = seed;
+
+        SplittableRandom random = new SplittableRandom(seed);
+
+        mazeModel.reset(rows, columns);
+        solveTrace.clear();
+        solutionPath = new int[0];
+
+        generator.generate(mazeModel, random);
+
+        return mazeModel;
+    }
+
+    /*
+     * Solve the maze from the top left cell to the bottom right cell.
+     *
+     * @return      The cells of the path from start to goal
+     */
+    public int[] solve() {
+        return solve(START_R * columns + START_C, rows * columns - 1);
+    }
+
+    /*
+     * Solve the maze between two cells.
+     *
+     * @param   start       The cell to start from
+     * @param   goal        The cell to reach
+     * @return              The cells of the path from start to goal, empty if
+     *                      the goal can not be reached
+     */
+    public int[] solve(int start, int goal) {
+
+        solveTrace.clear();
+        solutionPath = solver.solve(mazeModel, start, goal, solveTrace);
+
+        return solutionPath;
+    }
+
+    /*
+     * Puts up or breaks a wall of the current maze. A solver that keeps its
+     * search, such as the IncrementalSolver, only repairs the part of it the
+     * edit affects on the next solve. Edges on the outer border are rejected
+     * with an IllegalArgumentException.
+     *
+     * @param   edge        The packed edge id of the wall
+     * @param   standing    Whether the wall should be standing
+     */
+    public void setWall(int edge, boolean standing) {
+        mazeModel.setWall(edge, standing);
+    }
+
+    /*
+     * Gets the shortest route between two cells. A perfect maze is answered
+     * from the tree index without searching, while a maze that setWall left
+     * with loops or closed off parts is searched breadth-first.
+     *
+     * @param   start       The cell to start from
+     * @param   goal        The cell to reach
+     * @return              The cells of the route from start to goal, empty
+     *                      if the goal can not be reached
+     */
+    public int[] route(int start, int goal) {
+        if (isPerfect()) {
+            return treeIndex.path(start, goal);
+        }
+        return routeSolver.solve(mazeModel, start, goal, null);
+    }
+
+    /*
+     * Gets the number of steps on the shortest route between two cells, the
+     * same way as route.
+     *
+     * @param   start       The cell to start from
+     * @param   goal        The cell to reach
+     * @return              The number of steps, or -1 if the goal can not be
+     *                      reached
+     */
+    public int routeLength(int start, int goal) {
+        if (isPerfect()) {
+            return treeIndex.distance(start, goal);
+        }
+        return routeSolver.solve(mazeModel, start, goal, null).length - 1;
+    }
+
+    /*
+     * Freezes the current maze for batches of route queries. The queries keep
+     * answering for this maze after the engine generates the next one.
+     *
+     * @return      The route queries over a copy of the maze
+     */
+    public RouteQueries freezeRoutes() {
+        return new RouteQueries(mazeModel);
+    }
+
+    /*
+     * Checks if the current maze is a spanning tree, so routes can be
+     * answered from the tree index.
+     *
+     * @return      Whether or not the maze is perfect
+     */
+    private boolean isPerfect() {
+        getTreeIndex();
+        return treeIndexSpans;
+    }
+
+    /*
+     * Gets the tree index of the current maze, building it again on the
+     * first call after the version of the walls changes. On a maze with
+     * loops the index holds the breadth-first tree from the start cell.
+     *
+     * @return      The tree index rooted at the start cell
+     */
+    public MazeTreeIndex getTreeIndex() {
+        if (mazeModel.getVersion() != treeIndexVersion) {
+            treeIndex.build(mazeModel, START_R * columns + START_C);
+            treeIndexSpans = treeIndex.isSpanningTree(mazeModel);
+            treeIndexVersion = mazeModel.getVersion();
+        }
+        return treeIndex;
+    }
+
+
+    // GETTERS
+
+    public MazeModel getMazeModel() {
+        return mazeModel;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public MazeGenerator getGenerator() {
+        return generator;
+    }
+
+    public MazeSolver getSolver() {
+        return solver;
+    }
+
+    /*
+     * Gets the number of cells expanded by the last solve.
+     *
+     * @return      The number of expanded cells
+     */
+    public int getExpandedCount() {
+        return solver.getExpandedCount();
+    }
+
+    // SETTERS
+
+    /*
+     * Sets the algorithm used by the following generations.
+     *
+     * @param   generator   The maze generator
+     */
+    public void setGenerator(MazeGenerator generator) {
+        this.generator = generator;
+    }
+
+    /*
+     * Sets the algorithm used by the following solves.
+     *
+     * @param   solver      The maze solver
+     */
+    public void setSolver(MazeSolver solver) {
+        this.solver = solver;
+    }
+
+    /*
+     * Gets the walls carved by the last generation, in carving order.
+     *
+     * @return      The generation edge log
+     */
+    public EdgeLog getGenerationTrace() {
+        return mazeModel.getMazeGeneration();
+    }
+
+    /*
+     * Gets the steps taken by the last solve.
+     *
+     * @return      The solve trace
+     */
+    public SolveTrace getSolveTrace() {
+        return solveTrace;
+    }
+
+    /*
+     * Gets the path found by the last solve.
+     *
+     * @return      The cells of the path from start to goal
+     */
+    public int[] getSolutionPath() {
+        return solutionPath;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.SplittableRandom;
+
+/*
+ * Strategy for carving a maze.
+ *
+ * A generator carves a perfect maze into a model that has just been reset,
+ * breaking every wall through MazeModel.carve so the walls are logged in
+ * carving order for the generation animation. Walls carved on several
+ * threads go through reserveCarves, carveReserved and commitCarves instead.
+ * Generators hold no state between calls and can be shared.
+ */
+public interface MazeGenerator {
+
+    /*
+     * Carve a perfect maze over the whole grid of the model.
+     *
+     * @param   mazeModel   The freshly reset maze to carve
+     * @param   random      The random stream of the generation
+     */
+    void generate(MazeModel mazeModel, SplittableRandom random);
+
+    /*
+     * Gets the display name of the algorithm.
+     *
+     * @return      The name of the algorithm
+     */
+    String getName();
+}
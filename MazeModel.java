@@ -4,25 +4,36 @@
  * Date: October 25, 2017
  */
 
-import java.util.LinkedList;
+import java.util.SplittableRandom;
 
 /*
  * Maze Model used for the Maze Game.
  */
 public class MazeModel {
 
-    // Constant Neighboring Cell Coordinates
-    private static final int NEIGHBOR_R[] = {0, 1, 0, -1};
-    private static final int NEIGHBOR_C[] = {1, 0, -1, 0};
+    // Every Order of the Four Directions
+    private static final int NEIGHBOR_ORDERS[][] = directionOrders();
 
-    // Constant Max Values
-    private static final int MAX_ROWS = 50;
-    private static final int MAX_COLUMNS = 50;
+    // Number of Scratch Arrays Lent to Generators
+    public static final int SCRATCH_SLOTS = 2;
 
-    // Maze 2D Array
-    private static Cell cells[][];
+    // Maze Walls
+    private WallGrid walls;
 
-    private LinkedList<int[]> mazeGeneration;
+    // Visited Cells
+    private VisitMarks visited;
+
+    // Carved Walls in Generation Order
+    private EdgeLog mazeGeneration;
+
+    // Bumped on Every Change to the Walls
+    private int version;
+
+    // Walls Put Up or Broken by setWall Since the Last Reset
+    private EdgeLog wallEdits;
+
+    // Scratch Arrays of the Generators, Grown on Demand
+    private int scratch[][];
 
     /*
      * Constructor for the Maze Class
@@ -30,137 +41,278 @@ public class MazeModel {
      * @param   defaultRows     The default number of rows for the maze
      * @param   defaultColumns  The default number of columns for the maze
      */
-    public MazeModel() {
-
-        mazeGeneration = new LinkedList<>();
+    public MazeModel(int defaultRows, int defaultColumns) {
 
-        cells = new Cell[MAX_ROWS][MAX_COLUMNS];
+        mazeGeneration = new EdgeLog();
+        wallEdits = new EdgeLog();
 
-        for (int r = 0; r < MAX_ROWS; r++) {
-            for (int c = 0; c < MAX_COLUMNS; c++) {
-                cells[r][c] = new Cell();
-                cells[r][c].setR(r);
-                cells[r][c].setC(c);
-            }
-        }
+        walls = new WallGrid(defaultRows, defaultColumns);
+        visited = new VisitMarks(defaultRows * defaultColumns);
+        scratch = new int[SCRATCH_SLOTS][0];
     }
 
     /*
-     * Gets the cells from the maze.
+     * Copy constructor for the Maze Class, copying only the walls. The visit
+     * marks and generation log of the copy start out empty.
      *
-     * @return  The 2D list of cells
+     * @param   other           The maze to copy
      */
-    public Cell[][] getCells() {
-        return cells;
+    public MazeModel(MazeModel other) {
+
+        mazeGeneration = new EdgeLog();
+        wallEdits = new EdgeLog();
+
+        walls = new WallGrid(other.walls);
+        visited = new VisitMarks(getRows() * getColumns());
+        scratch = new int[SCRATCH_SLOTS][0];
+    }
+
+    public int getRows() {
+        return walls.getRows();
+    }
+
+    public int getColumns() {
+        return walls.getColumns();
     }
 
     /*
-     * Randomizes neighbor list.
+     * Gets the version of the walls, which changes whenever the maze is reset
+     * or a wall is carved or edited through the model. Walls carved into
+     * reserved slots count once, when they are committed. Walls broken
+     * directly on the WallGrid are not counted.
      *
-     * @param   r       The list of r-coordinates
-     * @param   c       The list of c-coordinates
+     * @return  The version of the walls
      */
-    public void randomizeNeighbors(int[] r, int[] c) {
+    public int getVersion() {
+        return version;
+    }
 
-        // Copy over the constant neighbor list
-        for (int i = 0; i < r.length; i++) {
-            r[i] = NEIGHBOR_R[i];
-            c[i] = NEIGHBOR_C[i];
-        }
+    /*
+     * Gets the walls of the maze.
+     *
+     * @return  The wall grid
+     */
+    public WallGrid getWalls() {
+        return walls;
+    }
 
-        for (int i = 0; i < r.length; i++) {
+    /*
+     * Puts up or breaks a wall of a finished maze. Each edit is logged so a
+     * solver can repair its last search instead of starting over. Edges on the
+     * outer border are rejected with an IllegalArgumentException.
+     *
+     * @param   edge        The packed edge id of the wall
+     * @param   standing    Whether the wall should be standing
+     */
+    public void setWall(int edge, boolean standing) {
+        walls.setWall(edge, standing);
+        version++;
+        wallEdits.add(edge);
+    }
 
-            // Obtain random index
-            int randomIndex = (int) (Math.random() * r.length);
+    /*
+     * Gets the walls edited through setWall since the last reset, each bumping
+     * the version by one.
+     *
+     * @return      The edited walls in edit order
+     */
+    public EdgeLog getWallEdits() {
+        return wallEdits;
+    }
 
-            // Swap integers
-            int tempR = r[i];
-            int tempC = c[i];
-            r[i] = r[randomIndex];
-            c[i] = c[randomIndex];
-            r[randomIndex] = tempR;
-            c[randomIndex] = tempC;
-        }
+    /*
+     * Checks if a cell has been visited.
+     *
+     * @param   cell    The flat index of the cell
+     * @return          Whether or not the cell is visited
+     */
+    public boolean isVisited(int cell) {
+        return visited.isVisited(cell);
     }
 
     /*
-     * Adds to the maze generation list.
+     * Marks a cell as visited.
      *
-     * @param   wallToBreak     The list of the coordinates for the cells to break between
+     * @param   cell    The flat index of the cell
      */
-    public void addToMazeGeneration(int[] wallToBreak) {
-        mazeGeneration.add(wallToBreak);
+    public void visit(int cell) {
+        visited.visit(cell);
     }
 
     /*
-     * Pops a wall from the generation wall.
+     * Lends a generator a scratch array, kept with the model so generating
+     * maze after maze of the same size allocates nothing. The array only
+     * grows, and holds whatever the last generation left in it.
      *
-     * @return      An integer array to represent the wall
+     * @param   slot        Which scratch array, below SCRATCH_SLOTS
+     * @param   length      The number of ints needed
+     * @return              The scratch array, at least length long
      */
-    public int[] popMazeGenerationWall() {
-        if (mazeGeneration.size() > 0) {
-            return mazeGeneration.removeFirst();
-        }
-        else {
-            return null;
+    public int[] getScratch(int slot, int length) {
+        if (scratch[slot].length < length) {
+            scratch[slot] = new int[length];
         }
+        return scratch[slot];
     }
 
     /*
-     * Resets the cells and maze generation list.
+     * Builds the 24 orders of the four directions.
+     *
+     * @return      The direction orders
      */
-    public void reset() {
-        for (int r = 0; r < MAX_ROWS; r++) {
-            for (int c = 0; c < MAX_COLUMNS; c++) {
-                cells[r][c].reset();
+    private static int[][] directionOrders() {
+        int orders[][] = new int[24][];
+        int count = 0;
+
+        for (int a = 0; a < 4; a++) {
+            for (int b = 0; b < 4; b++) {
+                for (int c = 0; c < 4; c++) {
+                    int d = 6 - a - b - c;
+                    if (a != b && a != c && b != c && d != a && d != b && d != c) {
+                        orders[count++] = new int[] {a, b, c, d};
+                    }
+                }
             }
         }
-        mazeGeneration.clear();
+        return orders;
     }
 
     /*
-     * Unvisits all the cells.
+     * Picks a random order to try the neighbors in. The returned order is
+     * shared and must not be modified.
+     *
+     * @param   random  The random stream of the generator
+     * @return          The four directions in a random order
      */
-    public void unvisitCells() {
-        for (int r = 0; r < MAX_ROWS; r++) {
-            for (int c = 0; c < MAX_COLUMNS; c++) {
-                cells[r][c].unvisit();
-            }
-        }
+    public static int[] randomNeighborOrder(SplittableRandom random) {
+        return NEIGHBOR_ORDERS[random.nextInt(NEIGHBOR_ORDERS.length)];
     }
 
     /*
-     * Determines if two cells has a wall in between.
+     * Picks a random neighbor of a cell inside the maze that is either
+     * visited or unvisited.
      *
-     * @return      Whether or not the two cells have walls between
+     * @param   cell        The flat index of the cell
+     * @param   visited     Whether the neighbor should be visited
+     * @param   random      The random stream of the generator
+     * @return              The direction of the neighbor, or -1 if there is none
      */
-    public boolean hasWall(Cell c1, Cell c2) {
-        if (c1.getR() == c2.getR()) {
-            // Cells are vertically aligned
+    public int randomNeighbor(int cell, boolean visited, SplittableRandom random) {
 
-            if (c1.getC() < c2.getC()) {
-                // Cell1 : Cell2
-                return c1.hasRightWall();
-            }
-            else if (c2.getC() < c1.getC()) {
-                // Cell2 : Cell1
-                return c2.hasRightWall();
+        int order[] = randomNeighborOrder(random);
+        int rows = walls.getRows();
+        int columns = walls.getColumns();
+        int r = cell / columns;
+        int c = cell - r * columns;
+
+        for (int i = 0; i < order.length; i++) {
+            int nextR = r + WallGrid.DIRECTION_R[order[i]];
+            int nextC = c + WallGrid.DIRECTION_C[order[i]];
+
+            if (nextR >= 0 && nextR < rows && nextC >= 0 && nextC < columns
+                    && this.visited.isVisited(nextR * columns + nextC) == visited) {
+                return order[i];
             }
         }
-        else if (c1.getC() == c2.getC()) {
-            // Cells are horizontally aligned
+        return -1;
+    }
 
-            if (c1.getR() < c2.getR()) {
-                // Cell1
-                // Cell2
-                return c1.hasBottomWall();
-            }
-            else if (c2.getR() < c1.getR()) {
-                // Cell2
-                // Cell1
-                return c2.hasBottomWall();
-            }
+    /*
+     * Breaks a wall and adds it to the maze generation list.
+     *
+     * @param   edge    The packed edge id of the wall to break
+     */
+    public void carve(int edge) {
+        walls.breakWall(edge);
+        version++;
+        mazeGeneration.add(edge);
+    }
+
+    /*
+     * Reserves slots at the end of the maze generation list for walls carved
+     * in parallel with carveReserved. The carving is finished with
+     * commitCarves once every slot is filled.
+     *
+     * @param   count   The number of walls to make room for
+     * @return          The position of the first reserved slot
+     */
+    public int reserveCarves(int count) {
+        int position = mazeGeneration.size();
+        mazeGeneration.setSize(position + count);
+        return position;
+    }
+
+    /*
+     * Breaks a wall into a reserved slot of the maze generation list. Threads
+     * may carve at once as long as each fills its own slots, since the wall
+     * is broken with an atomic update. The version is not bumped until
+     * commitCarves.
+     *
+     * @param   position    The reserved slot of the wall
+     * @param   edge        The packed edge id of the wall to break
+     */
+    public void carveReserved(int position, int edge) {
+        walls.breakWallAtomic(edge);
+        mazeGeneration.set(position, edge);
+    }
+
+    /*
+     * Finishes a parallel carving, bumping the version once for all the
+     * walls carved into reserved slots. Must be called after the carving
+     * threads are joined.
+     */
+    public void commitCarves() {
+        version++;
+    }
+
+    /*
+     * Pops a wall from the generation list.
+     *
+     * @return      The packed edge id of the wall, or -1 if the list is done
+     */
+    public int popMazeGenerationWall() {
+        if (mazeGeneration.hasNext()) {
+            return mazeGeneration.next();
+        }
+        else {
+            return -1;
         }
-        return true;
+    }
+
+    /*
+     * Gets the maze generation list.
+     *
+     * @return      The carved walls in generation order
+     */
+    public EdgeLog getMazeGeneration() {
+        return mazeGeneration;
+    }
+
+    /*
+     * Resets the cells and maze generation list for a maze of the given size.
+     * Storage grows on demand and only the cells of the new maze are touched.
+     *
+     * @param   rows        The number of rows in the maze
+     * @param   columns     The number of columns in the maze
+     */
+    public void reset(int rows, int columns) {
+        walls.resize(rows, columns);
+        version++;
+
+        visited.resize(rows * columns);
+
+        wallEdits.clear();
+
+        // A perfect maze carves one wall less than it has cells
+        mazeGeneration.clear();
+        mazeGeneration.ensureCapacity(rows * columns - 1);
+    }
+
+    /*
+     * Unvisits all the cells. This only starts a new visit epoch, so it does
+     * not depend on the size of the maze.
+     */
+    public void unvisitCells() {
+        visited.clear();
     }
 }
@@ -0,0 +1,155 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+/*
+ * Downsampled pictures of a maze for drawing it at less than a couple of
+ * pixels per cell.
+ *
+ * Level 0 has one pixel per cell, the average color of the cell as the
+ * renderer draws it, walls included. Each level above averages blocks of
+ * two by two pixels of the one below, until the whole maze is one pixel.
+ * Drawing a level is a plain copy of the pixels on screen, however many
+ * cells they stand for.
+ *
+ * A changed cell is averaged again and its pixel is carried up through
+ * every level, so keeping the levels current costs a few pixels per change.
+ */
+public class MazePyramid {
+
+    private final MazeTileRenderer renderer;
+    private final int cellPixels;
+
+    // Levels, Each Half the Size of the One Below
+    private BufferedImage levels[];
+    private int pixels[][];
+    private int widths[];
+    private int heights[];
+
+    // Scratch Pixels of One Rendered Cell
+    private int cellScratch[];
+
+    /*
+     * Constructor for the MazePyramid class, averaging every cell.
+     *
+     * @param   renderer    The renderer drawing the cells to average
+     */
+    public MazePyramid(MazeTileRenderer renderer) {
+        this.renderer = renderer;
+        this.cellPixels = renderer.getCellPixels();
+        cellScratch = new int[cellPixels * cellPixels];
+
+        int width = renderer.getColumns();
+        int height = renderer.getRows();
+        int count = 1;
+        while (width > 1 || height > 1) {
+            width = (width + 1) / 2;
+            height = (height + 1) / 2;
+            count++;
+        }
+
+        levels = new BufferedImage[count];
+        pixels = new int[count][];
+        widths = new int[count];
+        heights = new int[count];
+
+        width = renderer.getColumns();
+        height = renderer.getRows();
+        for (int level = 0; level < count; level++) {
+            levels[level] = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            pixels[level] = ((DataBufferInt) levels[level].getRaster().getDataBuffer()).getData();
+            widths[level] = width;
+            heights[level] = height;
+            width = (width + 1) / 2;
+            height = (height + 1) / 2;
+        }
+
+        for (int r = 0; r < heights[0]; r++) {
+            for (int c = 0; c < widths[0]; c++) {
+                pixels[0][r * widths[0] + c] = averageCell(r, c);
+            }
+        }
+        for (int level = 1; level < count; level++) {
+            for (int y = 0; y < heights[level]; y++) {
+                for (int x = 0; x < widths[level]; x++) {
+                    pixels[level][y * widths[level] + x] = averageBlock(level, x, y);
+                }
+            }
+        }
+    }
+
+    /*
+     * Averages a cell again after it changed and carries it up the levels.
+     *
+     * @param   cell    The flat index of the cell
+     */
+    public void update(int cell) {
+        int x = cell % widths[0];
+        int y = cell / widths[0];
+        pixels[0][cell] = averageCell(y, x);
+
+        for (int level = 1; level < levels.length; level++) {
+            x >>= 1;
+            y >>= 1;
+            pixels[level][y * widths[level] + x] = averageBlock(level, x, y);
+        }
+    }
+
+    /*
+     * Renders a cell and averages its pixels.
+     */
+    private int averageCell(int r, int c) {
+        renderer.render(cellScratch, cellPixels, (long) c * cellPixels, (long) r * cellPixels, cellPixels, cellPixels);
+
+        int red = 0, green = 0, blue = 0;
+        for (int i = 0; i < cellScratch.length; i++) {
+            red += (cellScratch[i] >> 16) & 0xFF;
+            green += (cellScratch[i] >> 8) & 0xFF;
+            blue += cellScratch[i] & 0xFF;
+        }
+        int count = cellScratch.length;
+        return ((red / count) << 16) | ((green / count) << 8) | (blue / count);
+    }
+
+    /*
+     * Averages the pixels of the level below that a pixel covers, of which
+     * there are fewer than four along an odd edge.
+     */
+    private int averageBlock(int level, int x, int y) {
+        int below[] = pixels[level - 1];
+        int belowWidth = widths[level - 1];
+        int belowHeight = heights[level - 1];
+
+        int red = 0, green = 0, blue = 0, count = 0;
+        for (int by = 2 * y; by < Math.min(2 * y + 2, belowHeight); by++) {
+            for (int bx = 2 * x; bx < Math.min(2 * x + 2, belowWidth); bx++) {
+                int rgb = below[by * belowWidth + bx];
+                red += (rgb >> 16) & 0xFF;
+                green += (rgb >> 8) & 0xFF;
+                blue += rgb & 0xFF;
+                count++;
+            }
+        }
+        return ((red / count) << 16) | ((green / count) << 8) | (blue / count);
+    }
+
+    /*
+     * Gets the picture of a level, one pixel for each block of 2^level by
+     * 2^level cells.
+     *
+     * @param   level   The level
+     * @return          The picture of the level
+     */
+    public BufferedImage getLevel(int level) {
+        return levels[level];
+    }
+
+    public int getLevelCount() {
+        return levels.length;
+    }
+}
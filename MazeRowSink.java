@@ -0,0 +1,25 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+/*
+ * Consumer of a maze that is produced one row at a time.
+ *
+ * Walls are passed as bitsets over the columns of the row, bit c of word
+ * c >>> 6 is set when cell c has that wall. The right wall of the last
+ * column and the bottom walls of the last row are always set.
+ */
+public interface MazeRowSink {
+
+    /*
+     * Receives a finished row. The arrays are reused for the next row, so
+     * copy anything that has to be kept.
+     *
+     * @param   r               The index of the row
+     * @param   rightWalls      The right walls of the row
+     * @param   bottomWalls     The bottom walls of the row
+     */
+    void acceptRow(long r, long[] rightWalls, long[] bottomWalls);
+}
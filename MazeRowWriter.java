@@ -0,0 +1,62 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/*
+ * Row sink that writes a streamed maze to an output stream.
+ *
+ * The stream starts with the number of columns as an int, followed by each
+ * row as its right wall words and then its bottom wall words, all as big
+ * endian longs. Nothing but the output buffer is kept in memory.
+ */
+public class MazeRowWriter implements MazeRowSink {
+
+    private DataOutputStream out;
+    private boolean wroteHeader;
+    private int columns;
+
+    /*
+     * Constructor for the MazeRowWriter class.
+     *
+     * @param   out         The stream to write to
+     * @param   columns     The number of columns of the maze
+     */
+    public MazeRowWriter(OutputStream out, int columns) {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.columns = columns;
+        wroteHeader = false;
+    }
+
+    public void acceptRow(long r, long[] rightWalls, long[] bottomWalls) {
+        try {
+            if (!wroteHeader) {
+                out.writeInt(columns);
+                wroteHeader = true;
+            }
+            for (int i = 0; i < rightWalls.length; i++) {
+                out.writeLong(rightWalls[i]);
+            }
+            for (int i = 0; i < bottomWalls.length; i++) {
+                out.writeLong(bottomWalls[i]);
+            }
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /*
+     * Flushes and closes the underlying stream.
+     */
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+/*
+ * Strategy for finding a path through a maze.
+ *
+ * Cells are flat row-major indices. A solver keeps its own visited marks
+ * and work buffers between calls, so it never writes to the model, but a
+ * single solver must not be used by two threads at once.
+ */
+public interface MazeSolver {
+
+    /*
+     * Find a path between two cells.
+     *
+     * @param   mazeModel   The maze to solve
+     * @param   start       The cell to start from
+     * @param   goal        The cell to reach
+     * @param   trace       The trace to record the steps in, or null
+     * @return              The cells of the path from start to goal, empty if
+     *                      the goal can not be reached
+     */
+    int[] solve(MazeModel mazeModel, int start, int goal, SolveTrace trace);
+
+    /*
+     * Gets the number of cells expanded by the last solve.
+     *
+     * @return      The number of expanded cells
+     */
+    int getExpandedCount();
+
+    /*
+     * Gets the display name of the algorithm.
+     *
+     * @return      The name of the algorithm
+     */
+    String getName();
+}
@@ -0,0 +1,272 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.awt.Color;
+
+/*
+ * Renders any rectangle of a maze picture straight from its walls.
+ *
+ * The picture is the maze at a fixed number of pixels per cell, with the
+ * walls along the left and top of each cell and the border closed along
+ * the right and bottom. Pixels are written as packed RGB ints into an array
+ * the caller owns, so a rectangle can be rendered without ever holding the
+ * whole picture, and the renderer only reads the maze, so any number of
+ * threads can render rectangles of it at once.
+ *
+ * Smaller versions of the picture are made by averaging blocks of two by
+ * two pixels with downsample, so walls fade to gray instead of flickering in
+ * and out as the scale drops.
+ *
+ * Cells are colored as start, end, path or empty. A subclass can color them
+ * any other way by overriding cellColor.
+ */
+public class MazeTileRenderer {
+
+    // Picture Colors
+    public static final int BACKGROUND_RGB = Color.WHITE.getRGB() & 0xFFFFFF;
+    private static final int WALL_RGB = Color.BLACK.getRGB() & 0xFFFFFF;
+    private static final int CELL_RGB = Color.WHITE.getRGB() & 0xFFFFFF;
+    private static final int PATH_RGB = Color.ORANGE.getRGB() & 0xFFFFFF;
+    private static final int START_RGB = Color.GREEN.getRGB() & 0xFFFFFF;
+    private static final int END_RGB = Color.RED.getRGB() & 0xFFFFFF;
+
+    // Smallest Cell, a Wall and a Passage Pixel
+    public static final int MIN_CELL_PIXELS = 2;
+
+    private final WallGrid walls;
+    private final int rows;
+    private final int columns;
+    private final int cellPixels;
+    private final int wallPixels;
+
+    // Cells on the Path as a Bitset, Null for no Path
+    private final long pathCells[];
+
+    /*
+     * Constructor for the MazeTileRenderer class.
+     *
+     * @param   mazeModel   The maze to render, which must not change while
+     *                      rendering
+     * @param   path        The cells of a path to color, or null
+     * @param   cellPixels  The width of a cell in pixels
+     */
+    public MazeTileRenderer(MazeModel mazeModel, int[] path, int cellPixels) {
+        this(mazeModel.getWalls(), path, cellPixels);
+    }
+
+    /*
+     * Constructor for the MazeTileRenderer class, drawing a grid of walls.
+     *
+     * @param   walls       The walls to render, which must not change while
+     *                      rendering
+     * @param   path        The cells of a path to color, or null
+     * @param   cellPixels  The width of a cell in pixels
+     */
+    public MazeTileRenderer(WallGrid walls, int[] path, int cellPixels) {
+        if (cellPixels < MIN_CELL_PIXELS) {
+            throw new IllegalArgumentException("cells need at least " + MIN_CELL_PIXELS + " pixels");
+        }
+
+        this.walls = walls;
+        this.rows = walls.getRows();
+        this.columns = walls.getColumns();
+        this.cellPixels = cellPixels;
+        this.wallPixels = Math.max(1, cellPixels / 5);
+
+        if (path != null && path.length > 0) {
+            pathCells = new long[(int) (((long) rows * columns + 63) >>> 6)];
+            for (int i = 0; i < path.length; i++) {
+                pathCells[path[i] >>> 6] |= 1L << path[i];
+            }
+        }
+        else {
+            pathCells = null;
+        }
+    }
+
+    /*
+     * Renders a rectangle of the picture. Pixels past the edges of the maze,
+     * on any side, are left in the background color.
+     *
+     * @param   pixels      The array to write the pixels to, row by row
+     * @param   stride      The number of pixels from one row of the array
+     *                      to the next
+     * @param   left        The picture column of the rectangle's left edge
+     * @param   top         The picture row of the rectangle's top edge
+     * @param   width       The width of the rectangle
+     * @param   height      The height of the rectangle
+     */
+    public void render(int[] pixels, int stride, long left, long top, int width, int height) {
+
+        for (int y = 0; y < height; y++) {
+            int row = y * stride;
+            for (int x = 0; x < width; x++) {
+                pixels[row + x] = BACKGROUND_RGB;
+            }
+        }
+
+        // Only the part of the rectangle over the maze is drawn
+        long right = Math.min(left + width, getWidth());
+        long bottom = Math.min(top + height, getHeight());
+        if (Math.max(left, 0) >= right || Math.max(top, 0) >= bottom) {
+            return;
+        }
+
+        int firstR = (int) (Math.max(top, 0) / cellPixels);
+        int lastR = (int) ((bottom - 1) / cellPixels);
+        int firstC = (int) (Math.max(left, 0) / cellPixels);
+        int lastC = (int) ((right - 1) / cellPixels);
+
+        for (int r = firstR; r <= lastR; r++) {
+            long cellTop = (long) r * cellPixels;
+            int y0 = (int) (Math.max(cellTop, top) - top);
+            int y1 = (int) (Math.min(cellTop + cellPixels, bottom) - top);
+
+            for (int c = firstC; c <= lastC; c++) {
+                long cellLeft = (long) c * cellPixels;
+                int x0 = (int) (Math.max(cellLeft, left) - left);
+                int x1 = (int) (Math.min(cellLeft + cellPixels, right) - left);
+
+                // Pixel offsets of the clipped rectangle inside the cell
+                int insideX = (int) (left + x0 - cellLeft);
+                int insideY = (int) (top + y0 - cellTop);
+
+                int cellRGB = cellColor(r, c);
+                boolean leftWall = walls.hasLeftWall(r, c);
+                boolean topWall = walls.hasTopWall(r, c);
+                boolean rightBorder = c == columns - 1;
+                boolean bottomBorder = r == rows - 1;
+
+                for (int y = y0; y < y1; y++) {
+                    int cy = insideY + y - y0;
+                    boolean topBand = cy < wallPixels;
+                    boolean wallRow = (topBand && topWall) || (bottomBorder && cy >= cellPixels - wallPixels);
+                    int row = y * stride;
+
+                    for (int x = x0; x < x1; x++) {
+                        int cx = insideX + x - x0;
+                        boolean leftBand = cx < wallPixels;
+
+                        // The top left corner is always a post, so walls
+                        // meet without gaps
+                        if (wallRow || (leftBand && (leftWall || topBand))
+                                || (rightBorder && cx >= cellPixels - wallPixels)) {
+                            pixels[row + x] = WALL_RGB;
+                        }
+                        else {
+                            pixels[row + x] = cellRGB;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Gets the color of the inside of a cell.
+     *
+     * @param   r       The row of the cell
+     * @param   c       The column of the cell
+     * @return          The color as a packed RGB int
+     */
+    protected int cellColor(int r, int c) {
+        int cell = r * columns + c;
+        if (cell == 0) {
+            return START_RGB;
+        }
+        else if (cell == rows * columns - 1) {
+            return END_RGB;
+        }
+        else if (pathCells != null && (pathCells[cell >>> 6] & (1L << cell)) != 0) {
+            return PATH_RGB;
+        }
+        return CELL_RGB;
+    }
+
+    /*
+     * Shrinks a square of pixels to half its size by averaging each block
+     * of two by two pixels, writing it into a quarter of another square.
+     *
+     * @param   source      The pixels of the square to shrink
+     * @param   size        The side of both squares, an even number
+     * @param   target      The pixels of the square to write into
+     * @param   offsetX     The column of the quarter written, 0 or size / 2
+     * @param   offsetY     The row of the quarter written, 0 or size / 2
+     */
+    public static void downsample(int[] source, int size, int[] target, int offsetX, int offsetY) {
+        int half = size / 2;
+
+        for (int y = 0; y < half; y++) {
+            int above = (2 * y) * size;
+            int below = above + size;
+            int row = (offsetY + y) * size + offsetX;
+
+            for (int x = 0; x < half; x++) {
+                int a = source[above + 2 * x];
+                int b = source[above + 2 * x + 1];
+                int c = source[below + 2 * x];
+                int d = source[below + 2 * x + 1];
+
+                // Average each channel, rounding to nearest
+                int red = (((a >> 16) & 0xFF) + ((b >> 16) & 0xFF) + ((c >> 16) & 0xFF) + ((d >> 16) & 0xFF) + 2) >> 2;
+                int green = (((a >> 8) & 0xFF) + ((b >> 8) & 0xFF) + ((c >> 8) & 0xFF) + ((d >> 8) & 0xFF) + 2) >> 2;
+                int blue = ((a & 0xFF) + (b & 0xFF) + (c & 0xFF) + (d & 0xFF) + 2) >> 2;
+                target[row + x] = (red << 16) | (green << 8) | blue;
+            }
+        }
+    }
+
+    /*
+     * Fills a quarter of a square of pixels with the background color.
+     *
+     * @param   size        The side of the square
+     * @param   target      The pixels of the square
+     * @param   offsetX     The column of the quarter, 0 or size / 2
+     * @param   offsetY     The row of the quarter, 0 or size / 2
+     */
+    public static void clearQuarter(int size, int[] target, int offsetX, int offsetY) {
+        int half = size / 2;
+        for (int y = 0; y < half; y++) {
+            int row = (offsetY + y) * size + offsetX;
+            for (int x = 0; x < half; x++) {
+                target[row + x] = BACKGROUND_RGB;
+            }
+        }
+    }
+
+
+    // GETTERS
+
+    /*
+     * Gets the width of the whole picture.
+     *
+     * @return      The width in pixels
+     */
+    public long getWidth() {
+        return (long) columns * cellPixels;
+    }
+
+    /*
+     * Gets the height of the whole picture.
+     *
+     * @return      The height in pixels
+     */
+    public long getHeight() {
+        return (long) rows * cellPixels;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getCellPixels() {
+        return cellPixels;
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.Arrays;
+
+/*
+ * Route index over the spanning tree of a maze.
+ *
+ * A perfect maze is a tree, so the route between two cells goes up from
+ * each of them to their lowest common ancestor. One breadth-first pass roots
+ * the tree and records the parent and depth of every cell, plus a jump
+ * pointer per cell laid out so that any ancestor is reached in O(log n)
+ * jumps. That answers route lengths in O(log n) and whole routes in
+ * O(route length) with three ints per cell.
+ *
+ * On a maze with loops the breadth-first tree is used, so routes are still
+ * valid but only those from the root are guaranteed to be shortest.
+ */
+public class MazeTreeIndex {
+
+    private int parent[];
+    private int depth[];
+    private int jump[];
+    private IntQueue queue;
+    private int root;
+
+    /*
+     * Constructor for the MazeTreeIndex class.
+     */
+    public MazeTreeIndex() {
+        parent = new int[0];
+        depth = new int[0];
+        jump = new int[0];
+        queue = new IntQueue();
+        root = 0;
+    }
+
+    /*
+     * Roots the tree of a maze and builds the index. Cells that can not be
+     * reached from the root get a depth of -1.
+     *
+     * @param   mazeModel   The maze to index
+     * @param   root        The cell to root the tree at
+     */
+    public void build(MazeModel mazeModel, int root) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int cellCount = mazeModel.getRows() * mazeModel.getColumns();
+        this.root = root;
+
+        if (parent.length < cellCount) {
+            parent = new int[cellCount];
+            depth = new int[cellCount];
+            jump = new int[cellCount];
+        }
+        Arrays.fill(depth, 0, cellCount, -1);
+        queue.clear();
+
+        parent[root] = root;
+        depth[root] = 0;
+        jump[root] = root;
+        queue.add(root);
+
+        while (!queue.isEmpty()) {
+            int cell = queue.remove();
+
+            // A child jumps twice as far as its parent when the parent's
+            // jump and the one after it are the same length
+            int target = jump[cell];
+            if (depth[cell] - depth[target] == depth[target] - depth[jump[target]]) {
+                target = jump[target];
+            }
+            else {
+                target = cell;
+            }
+
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(cell, direction)) {
+                    int next = walls.neighbor(cell, direction);
+                    if (depth[next] == -1) {
+                        depth[next] = depth[cell] + 1;
+                        parent[next] = cell;
+                        jump[next] = target;
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Finds the lowest common ancestor of two cells.
+     *
+     * @param   a       The first cell
+     * @param   b       The second cell
+     * @return          The deepest cell that is an ancestor of both, or -1
+     *                  if either can not be reached from the root
+     */
+    public int lowestCommonAncestor(int a, int b) {
+
+        if (depth[a] == -1 || depth[b] == -1) {
+            return -1;
+        }
+
+        if (depth[a] < depth[b]) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+
+        // Climb the deeper cell up to the depth of the other
+        while (depth[a] > depth[b]) {
+            if (depth[jump[a]] >= depth[b]) {
+                a = jump[a];
+            }
+            else {
+                a = parent[a];
+            }
+        }
+
+        // Cells at the same depth have jumps of the same length
+        while (a != b) {
+            if (jump[a] != jump[b]) {
+                a = jump[a];
+                b = jump[b];
+            }
+            else {
+                a = parent[a];
+                b = parent[b];
+            }
+        }
+        return a;
+    }
+
+    /*
+     * Gets the number of steps on the route between two cells.
+     *
+     * @param   a       The first cell
+     * @param   b       The second cell
+     * @return          The number of steps, or -1 if there is no route
+     */
+    public int distance(int a, int b) {
+        int ancestor = lowestCommonAncestor(a, b);
+        if (ancestor == -1) {
+            return -1;
+        }
+        return depth[a] + depth[b] - 2 * depth[ancestor];
+    }
+
+    /*
+     * Gets the route between two cells.
+     *
+     * @param   start   The cell to start from
+     * @param   goal    The cell to reach
+     * @return          The cells of the route from start to goal, empty if
+     *                  there is no route
+     */
+    public int[] path(int start, int goal) {
+
+        int ancestor = lowestCommonAncestor(start, goal);
+        if (ancestor == -1) {
+            return new int[0];
+        }
+
+        int path[] = new int[depth[start] + depth[goal] - 2 * depth[ancestor] + 1];
+        pathInto(start, goal, ancestor, path, 0);
+
+        return path;
+    }
+
+    /*
+     * Writes the route between two cells into part of an array.
+     *
+     * @param   start   The cell to start from
+     * @param   goal    The cell to reach
+     * @param   out     The array to write the route to
+     * @param   offset  The position of the first cell of the route
+     * @return          The number of cells written, 0 if there is no route
+     */
+    public int pathInto(int start, int goal, int[] out, int offset) {
+
+        int ancestor = lowestCommonAncestor(start, goal);
+        if (ancestor == -1) {
+            return 0;
+        }
+        return pathInto(start, goal, ancestor, out, offset);
+    }
+
+    private int pathInto(int start, int goal, int ancestor, int[] out, int offset) {
+
+        int up = depth[start] - depth[ancestor];
+        int length = up + depth[goal] - depth[ancestor] + 1;
+
+        // Up from the start, then down to the goal filled in from the end
+        int i = offset;
+        for (int cell = start; cell != ancestor; cell = parent[cell]) {
+            out[i++] = cell;
+        }
+        out[offset + up] = ancestor;
+        i = offset + length - 1;
+        for (int cell = goal; cell != ancestor; cell = parent[cell]) {
+            out[i--] = cell;
+        }
+
+        return length;
+    }
+
+    /*
+     * Checks if the indexed maze is a spanning tree, every cell reached from
+     * the root with exactly one fewer passage than cells. Only then are all
+     * routes through the index the shortest ones.
+     *
+     * @param   mazeModel   The maze the index was built over
+     * @return              Whether or not the maze is perfect
+     */
+    public boolean isSpanningTree(MazeModel mazeModel) {
+        WallGrid walls = mazeModel.getWalls();
+        int cellCount = mazeModel.getRows() * mazeModel.getColumns();
+        long passages = 0;
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (depth[cell] == -1) {
+                return false;
+            }
+            if (walls.isOpen(cell, WallGrid.RIGHT)) {
+                passages++;
+            }
+            if (walls.isOpen(cell, WallGrid.DOWN)) {
+                passages++;
+            }
+        }
+        return passages == cellCount - 1;
+    }
+
+
+    // GETTERS
+
+    public int getRoot() {
+        return root;
+    }
+
+    public int getParent(int cell) {
+        return parent[cell];
+    }
+
+    public int getDepth(int cell) {
+        return depth[cell];
+    }
+}
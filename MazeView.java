@@ -6,10 +6,23 @@
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.LinkedList;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
 /*
  * Maze View for the Maze Game.
+ *
+ * A zoomable, pannable viewport onto the maze. The wheel zooms around the
+ * mouse, dragging pans and a double click fits the whole maze back in.
+ *
+ * Painting only draws the part of the view that needs it. When cells are a
+ * couple of pixels or more wide, the cells under that part are rendered
+ * straight from the walls and colors. Below that, a level of a MazePyramid
+ * with one pixel per block of cells is copied instead. Either way the cost
+ * of a paint depends on the pixels painted, not on the size of the maze.
  */
 public class MazeView extends JPanel {
 
@@ -20,281 +33,479 @@ public class MazeView extends JPanel {
     private static final Color START_COLOR = Color.GREEN;
     private static final Color END_COLOR = Color.RED;
 
-    // Constant Max Values
-    private static final int MAX_ROWS = 50;
-    private static final int MAX_COLUMNS = 50;
+    // Default Cell Color
+    private static final Color DEFAULT_COLOR = Color.WHITE;
+
+    // Solution Colors by the State of a Cell in the Replay
+    private static final Color VISIT_COLOR = Color.CYAN;
+    private static final Color BACKTRACK_COLOR = Color.LIGHT_GRAY;
+    private static final Color PATH_COLOR = Color.ORANGE;
 
     // Constant MazeView Dimensions
     private static final int DEFAULT_WIDTH = 645;
     private static final int DEFAULT_HEIGHT = 645;
 
-    private static int currentWidth;
-    private static int currentHeight;
+    // Zoom Constants
+    private static final int MAX_CELL_PIXELS = 64;
+    private static final int PYRAMID_CELL_PIXELS = 4;
+
+    // Current Maze Dimensions
+    private static int currentRows;
+    private static int currentColumns;
+
+    // Displayed Walls, Broken as the Generation is Replayed
+    private static WallGrid walls;
+
+    // Displayed Color of Each Cell
+    private static Color cellColors[];
+
+    // Renderer at the Current Zoom, and the Pyramid for Smaller Zooms
+    private MazeTileRenderer renderer;
+    private MazePyramid pyramid;
 
-    private static CellView cellViews[][];
+    // Zoom, Pixels per Cell, or 0 When Drawing a Pyramid Level
+    private int cellPixels;
+    private int pyramidLevel;
 
-    // Maze Solution Lists
-    private LinkedList<CellView> mazeSolution;
-    private LinkedList<Color> mazeSolutionColors;
+    // Picture Pixel Shown at the Top Left of the View
+    private long viewX;
+    private long viewY;
+
+    // Last Mouse Position of a Drag
+    private int dragX;
+    private int dragY;
+
+    // Scratch Image the Painted Part of the View is Rendered Into
+    private BufferedImage frame;
+    private int framePixels[];
+
+    // Maze Solution Replay
+    private SolveReplay mazeSolution;
 
     /*
      * The constructor for the MazeView.
      *
-     * @param   cells       The cells to fill the maze with.
+     * @param   defaultRows     The default number of rows in the maze
+     * @param   defaultColumns  The default number of columns in the maze
      */
-    public MazeView(Cell[][] cells, int defaultRows, int defaultColumns) {
+    public MazeView(int defaultRows, int defaultColumns) {
         super();
 
-        // Initialize the solution lists
-        mazeSolution = new LinkedList<>();
-        mazeSolutionColors = new LinkedList<>();
+        // Initialize the solution replay
+        mazeSolution = new SolveReplay();
 
-        // Set the default widths
-        currentWidth = DEFAULT_WIDTH;
-        currentHeight = DEFAULT_HEIGHT;
+        // Set the default dimensions
+        currentRows = defaultRows;
+        currentColumns = defaultColumns;
 
-        // Initialize the Cell Views
-        cellViews = new CellView[MAX_ROWS][MAX_COLUMNS];
-        for (int r = 0; r < MAX_ROWS; r++) {
-            for (int c = 0; c < MAX_COLUMNS; c++) {
-                cellViews[r][c] = new CellView(cells[r][c], DEFAULT_WIDTH / defaultColumns, DEFAULT_HEIGHT / defaultRows);
-            }
-        }
+        // Initialize the Displayed Walls and Colors
+        walls = new WallGrid(defaultRows, defaultColumns);
+        cellColors = new Color[defaultRows * defaultColumns];
 
         // Set the JPanel Info
         setPreferredSize(new Dimension(DEFAULT_WIDTH, DEFAULT_HEIGHT));
-        setLayout(new GridLayout(defaultRows, defaultColumns, 0, 0));
+        setBackground(DEFAULT_COLOR);
+        setOpaque(true);
+
+        frame = new BufferedImage(DEFAULT_WIDTH, DEFAULT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        framePixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+
+        // Zoom with the wheel, pan by dragging and fit on a double click
+        MouseAdapter mouse = new MouseAdapter() {
+            public void mousePressed(MouseEvent e) {
+                dragX = e.getX();
+                dragY = e.getY();
+            }
 
-        fillMazeView(cells, defaultRows, defaultColumns);
+            public void mouseDragged(MouseEvent e) {
+                viewX -= e.getX() - dragX;
+                viewY -= e.getY() - dragY;
+                dragX = e.getX();
+                dragY = e.getY();
+                clampView();
+                repaint();
+            }
+
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    fitView();
+                    repaint();
+                }
+            }
+
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoomAt(e.getWheelRotation() < 0, e.getX(), e.getY());
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+
+        fillMazeView(defaultRows, defaultColumns);
+        fitView();
 
     }
 
     /*
-     * Change the size of the mazeView
+     * Clear the colors and rebuild the renderer and pyramid for the current
+     * walls.
      *
-     * @param   cells       The cells to fill the maze with
      * @param   rows        The number of rows of the maze
      * @param   columns     The number of columns of the maze
      */
-    public void changeSize(Cell[][] cells, int rows, int columns) {
-
-        // Check for Bounds Error
-        if (rows > MAX_ROWS || rows < 0 || columns < 0 || columns > MAX_COLUMNS) {
-            JOptionPane.showMessageDialog(MazeView.this, "Sorry, an error occurred! Please try again later.");
-            System.out.println("Error: changeSize row and column out of bounds");
-            System.exit(0);
-        }
+    private void fillMazeView(int rows, int columns) {
 
-        this.removeAll();
-        clearMaze();
-
-        int windowWidth = DEFAULT_WIDTH;
-        int windowHeight = DEFAULT_HEIGHT;
-
-        // Change Maze View Size to Ensure Cell Shape As Square
-        if (rows > columns) {
-            windowWidth = (windowHeight / rows) * columns;
+        if (cellColors.length < rows * columns) {
+            cellColors = new Color[rows * columns];
         }
-        else if (columns > rows) {
-            windowHeight = (windowWidth / columns) * rows;
-        }
-
-        currentWidth = windowWidth;
-        currentHeight = windowHeight;
+        clearColors();
 
         // Color the Start and End Cells
-        cellViews[START_X][START_Y].setColor(START_COLOR);
-        cellViews[rows - 1][columns - 1].setColor(END_COLOR);
-
-        setPreferredSize(new Dimension(windowWidth, windowHeight));
-        setLayout(new GridLayout(rows, columns, 0, 0));
-
-        fillMazeView(cells, rows, columns);
-
-        refreshView();
+        cellColors[START_X * columns + START_Y] = START_COLOR;
+        cellColors[rows * columns - 1] = END_COLOR;
 
+        pyramid = new MazePyramid(newRenderer(PYRAMID_CELL_PIXELS));
+        if (cellPixels > 0) {
+            renderer = newRenderer(cellPixels);
+        }
     }
 
     /*
-     * Fill the maze view with cells.
+     * Make a renderer of the displayed walls and colors.
      *
-     * @param   cells       The cells to fill the maze with
-     * @param   rows        The number of rows of the maze
-     * @param   columns     The number of columns of the maze
+     * @param   pixels      The width of a cell in pixels
+     * @return              The renderer
      */
-    private void fillMazeView(Cell[][] cells, int rows, int columns) {
+    private MazeTileRenderer newRenderer(int pixels) {
+        return new MazeTileRenderer(walls, null, pixels) {
+            protected int cellColor(int r, int c) {
+                return cellColors[r * currentColumns + c].getRGB() & 0xFFFFFF;
+            }
+        };
+    }
 
-        // Color the Start and End Cells
-        cellViews[START_X][START_Y].setColor(START_COLOR);
-        cellViews[rows - 1][columns - 1].setColor(END_COLOR);
-
-        // Draw the cell walls and add the cell to the view
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < columns; c++) {
-                cellViews[r][c].drawCellWalls(cells[r][c], currentWidth / columns, currentHeight / rows);
-                add(cellViews[r][c]);
+    /*
+     * Zoom to the largest size that shows the whole maze, and center it.
+     */
+    private void fitView() {
+        int fit = Math.min(DEFAULT_WIDTH / currentColumns, DEFAULT_HEIGHT / currentRows);
+
+        if (fit >= MazeTileRenderer.MIN_CELL_PIXELS) {
+            setZoom(Math.min(fit, MAX_CELL_PIXELS), 0);
+        }
+        else {
+            int level = 0;
+            while (((currentColumns - 1) >> level) >= DEFAULT_WIDTH || ((currentRows - 1) >> level) >= DEFAULT_HEIGHT) {
+                level++;
             }
+            setZoom(0, level);
         }
+
+        viewX = 0;
+        viewY = 0;
+        clampView();
     }
 
     /*
-     * Refresh the view.
+     * Zoom in or out one step, keeping the point under the mouse in place.
+     *
+     * @param   in      Whether to zoom in
+     * @param   x       The view column of the mouse
+     * @param   y       The view row of the mouse
      */
-    private void refreshView() {
-        revalidate();
+    private void zoomAt(boolean in, int x, int y) {
+        double oldScale = getScale();
+        double cellX = (viewX + x) / oldScale;
+        double cellY = (viewY + y) / oldScale;
+
+        if (in) {
+            if (cellPixels > 0) {
+                setZoom(Math.min(MAX_CELL_PIXELS, Math.max(cellPixels + 1, cellPixels * 5 / 4)), 0);
+            }
+            else if (pyramidLevel > 0) {
+                setZoom(0, pyramidLevel - 1);
+            }
+            else {
+                setZoom(MazeTileRenderer.MIN_CELL_PIXELS, 0);
+            }
+        }
+        else {
+            if (cellPixels > MazeTileRenderer.MIN_CELL_PIXELS) {
+                setZoom(Math.max(MazeTileRenderer.MIN_CELL_PIXELS, Math.min(cellPixels - 1, cellPixels * 4 / 5)), 0);
+            }
+            else if (cellPixels > 0) {
+                setZoom(0, 0);
+            }
+            else {
+                setZoom(0, Math.min(pyramidLevel + 1, pyramid.getLevelCount() - 1));
+            }
+        }
+
+        viewX = Math.round(cellX * getScale()) - x;
+        viewY = Math.round(cellY * getScale()) - y;
+        clampView();
         repaint();
     }
 
     /*
-     * Clear everything from all cells.
+     * Set the zoom, making a renderer for it if cells are drawn directly.
+     *
+     * @param   pixels      The width of a cell in pixels, 0 to draw a
+     *                      pyramid level
+     * @param   level       The pyramid level when pixels is 0
      */
-    private void clearMaze() {
-        for (int r = 0; r < MAX_ROWS; r++) {
-            for (int c = 0; c < MAX_COLUMNS; c++) {
-                cellViews[r][c].clearCell();
-            }
+    private void setZoom(int pixels, int level) {
+        if (pixels > 0 && pixels != cellPixels) {
+            renderer = newRenderer(pixels);
         }
+        cellPixels = pixels;
+        pyramidLevel = (pixels > 0) ? 0 : level;
     }
 
     /*
-     * Clear the colors of all the cells.
+     * Keep the maze in view, centering it along a side it does not fill.
      */
-    private void clearColors() {
-        for (int r = 0; r < MAX_ROWS; r++) {
-            for (int c = 0; c < MAX_COLUMNS; c++) {
-                cellViews[r][c].clearColor();
-            }
+    private void clampView() {
+        viewX = clampAxis(viewX, getPictureWidth(), DEFAULT_WIDTH);
+        viewY = clampAxis(viewY, getPictureHeight(), DEFAULT_HEIGHT);
+    }
+
+    private static long clampAxis(long view, long picture, int size) {
+        if (picture <= size) {
+            return -(size - picture) / 2;
         }
+        return Math.max(0, Math.min(view, picture - size));
     }
 
     /*
-     * Returns the cell view 2D list.
+     * Get the number of pixels per cell at the current zoom.
      *
-     * @returns     the cell view 2D list
+     * @return      The scale, below one for pyramid levels
      */
-    public CellView[][] getCellViews() {
-        return cellViews;
+    private double getScale() {
+        return (cellPixels > 0) ? cellPixels : 1.0 / (1 << pyramidLevel);
+    }
+
+    private long getPictureWidth() {
+        if (cellPixels > 0) {
+            return (long) currentColumns * cellPixels;
+        }
+        return pyramid.getLevel(pyramidLevel).getWidth();
+    }
+
+    private long getPictureHeight() {
+        if (cellPixels > 0) {
+            return (long) currentRows * cellPixels;
+        }
+        return pyramid.getLevel(pyramidLevel).getHeight();
     }
 
     /*
-     * Break the wall between two cells.
+     * Paint the part of the maze under the clip.
      *
-     * @param   r1      The row for the first cell
-     * @param   c1      The column for the first cell
-     * @param   r2      The row for the second cell
-     * @param   c2      The column for the second cell
+     * @param   g       Graphics to use
      */
-    public void breakWall(int r1, int c1, int r2, int c2) {
+    public void paintComponent(Graphics g) {
+        super.paintComponent(g);
 
-        if (r1 == r2) {
-            // Cells are vertically aligned
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        clip = clip.intersection(new Rectangle(0, 0, DEFAULT_WIDTH, DEFAULT_HEIGHT));
+        if (clip.isEmpty()) {
+            return;
+        }
 
-            if (c1 < c2) {
-                // Cell1 : Cell2
-                cellViews[r1][c1].removeRightWall();
-                cellViews[r2][c2].removeLeftWall();
-            }
-            else if (c2 < c1) {
-                // Cell2 : Cell1
-                cellViews[r2][c2].removeRightWall();
-                cellViews[r1][c1].removeLeftWall();
-            }
+        if (cellPixels > 0) {
+            renderer.render(framePixels, DEFAULT_WIDTH, viewX + clip.x, viewY + clip.y, clip.width, clip.height);
+            g.drawImage(frame, clip.x, clip.y, clip.x + clip.width, clip.y + clip.height,
+                    0, 0, clip.width, clip.height, null);
         }
-        else if (c1 == c2) {
-            // Cells are horizontally aligned
-
-            if (r1 < r2) {
-                // Cell1
-                // Cell2
-                cellViews[r1][c1].removeBottomWall();
-                cellViews[r2][c2].removeTopWall();
-            }
-            else if (r2 < r1) {
-                // Cell2
-                // Cell1
-                cellViews[r2][c2].removeBottomWall();
-                cellViews[r1][c1].removeTopWall();
+        else {
+            BufferedImage level = pyramid.getLevel(pyramidLevel);
+            long left = Math.max(viewX + clip.x, 0);
+            long top = Math.max(viewY + clip.y, 0);
+            long right = Math.min(viewX + clip.x + clip.width, level.getWidth());
+            long bottom = Math.min(viewY + clip.y + clip.height, level.getHeight());
+
+            if (left < right && top < bottom) {
+                g.drawImage(level, (int) (left - viewX), (int) (top - viewY), (int) (right - viewX), (int) (bottom - viewY),
+                        (int) left, (int) top, (int) right, (int) bottom, null);
             }
         }
+    }
 
+    /*
+     * Average a changed cell into the pyramid and repaint it if it is in
+     * view.
+     *
+     * @param   cell        The flat index of the cell
+     */
+    private void refreshCell(int cell) {
+        pyramid.update(cell);
+
+        int r = cell / currentColumns;
+        int c = cell % currentColumns;
+        long left, top;
+        int size;
+
+        if (cellPixels > 0) {
+            left = (long) c * cellPixels - viewX;
+            top = (long) r * cellPixels - viewY;
+            size = cellPixels;
+        }
+        else {
+            left = (c >> pyramidLevel) - viewX;
+            top = (r >> pyramidLevel) - viewY;
+            size = 1;
+        }
+
+        if (left + size > 0 && top + size > 0 && left < DEFAULT_WIDTH && top < DEFAULT_HEIGHT) {
+            repaint((int) left, (int) top, size, size);
+        }
     }
 
     /*
-     * Reset the solution list.
+     * Clear the colors of the cells of the current maze.
+     */
+    private void clearColors() {
+        for (int cell = 0; cell < currentRows * currentColumns; cell++) {
+            cellColors[cell] = DEFAULT_COLOR;
+        }
+    }
+
+    /*
+     * Break the wall of an edge.
+     *
+     * @param   edge    The packed edge id of the wall
+     */
+    public void breakWall(int edge) {
+        walls.breakWall(edge);
+        refreshCell(WallGrid.edgeCell(edge));
+        refreshCell(walls.edgeOtherCell(edge));
+    }
+
+    /*
+     * Reset the walls and the solution replay, and fit the maze in the view.
      *
-     * @param   cells       The list of cells in the maze
      * @param   rows        The number of rows in the maze
      * @param   columns     The number of columns in the maze
      */
-    public void reset(Cell cells[][], int rows, int columns) {
-        this.removeAll();
-        clearMaze();
-        fillMazeView(cells, rows, columns);
-        refreshView();
+    public void reset(int rows, int columns) {
+        currentRows = rows;
+        currentColumns = columns;
+        walls.resize(rows, columns);
+
+        fillMazeView(rows, columns);
+        fitView();
+        repaint();
 
         mazeSolution.clear();
-        mazeSolutionColors.clear();
     }
 
     /*
-     * Reset the solution list, leaving the maze.
+     * Reset the solution replay, leaving the maze and the zoom.
      *
-     * @param   cells       The list of cells in the maze
      * @param   rows        The number of rows in the maze
      * @param   columns     The number of columns in the maze
      */
-    public void resetSolution(Cell cells[][], int rows, int columns) {
+    public void resetSolution(int rows, int columns) {
 
-        // Remove everything and refresh view
-        this.removeAll();
-        clearColors();
-        fillMazeView(cells, rows, columns);
-        refreshView();
+        // Clear the colors and repaint the view
+        fillMazeView(rows, columns);
+        repaint();
 
-        // Clear the solution list
+        // Clear the solution replay
         mazeSolution.clear();
-        mazeSolutionColors.clear();
     }
 
     /*
-     * Add new cell to maze solution list.
+     * Load the steps of a solve to replay, starting from the first step.
      *
-     * @param   cellR       The cell row to add
-     * @param   cellC       The cell column to add
-     * @param   c           The color to make the cell
+     * @param   trace       The steps of the solve
      */
-    public void addToMazeSolution(int cellR, int cellC, Color c) {
-        mazeSolution.add(cellViews[cellR][cellC]);
-        if (!(cellR == START_X && cellC == START_Y)) {
-            mazeSolutionColors.add(c);
-        }
-        else {
-            mazeSolutionColors.add(START_COLOR);
+    public void setMazeSolution(SolveTrace trace) {
+        mazeSolution.load(trace, currentRows * currentColumns);
+    }
+
+    /*
+     * Move the solution replay to a step, forwards or backwards, and redraw
+     * only the cells that changed.
+     *
+     * @param   step        The number of solution steps to show
+     */
+    public void seekMazeSolution(int step) {
+        mazeSolution.seek(step);
+
+        for (int i = 0; i < mazeSolution.getChangedCount(); i++) {
+            int cell = mazeSolution.getChangedCell(i);
+            cellColors[cell] = solutionColor(cell);
+            refreshCell(cell);
         }
     }
 
     /*
-     * Pop a single move from the solution list.
+     * Get the color of a cell at the current step of the solution replay.
+     * The start and end cells keep their colors.
      *
-     * @return      0 if newly visited cell
-     *              1 if backtracked cell
-     *              -1 if maze solution list is empty
+     * @param   cell        The flat index of the cell
+     * @return              The color of the cell
      */
-    public int popMazeSolution() {
-
-        // Make sure the solution list isn't empty
-        if (mazeSolution.size() > 0) {
-            Color c = mazeSolutionColors.removeFirst();
-            mazeSolution.removeFirst().setColor(c);
-            if (c == Color.CYAN) {
-                return 0;
-            }
-            else {
-                return 1;
-            }
+    private Color solutionColor(int cell) {
+        if (cell == START_X * currentColumns + START_Y) {
+            return START_COLOR;
+        }
+        else if (cell == currentRows * currentColumns - 1) {
+            return END_COLOR;
+        }
+
+        int state = mazeSolution.getState(cell);
+        if (state == SolveTrace.VISIT + 1) {
+            return VISIT_COLOR;
         }
-        return -1;
+        else if (state == SolveTrace.BACKTRACK + 1) {
+            return BACKTRACK_COLOR;
+        }
+        else if (state == SolveTrace.PATH + 1) {
+            return PATH_COLOR;
+        }
+        return DEFAULT_COLOR;
+    }
+
+    /*
+     * Get the number of steps of the solution replay shown.
+     *
+     * @return      The current step
+     */
+    public int getSolutionPosition() {
+        return mazeSolution.getPosition();
+    }
+
+    /*
+     * Get the number of steps of the solution replay.
+     *
+     * @return      The number of steps
+     */
+    public int getSolutionLength() {
+        return mazeSolution.size();
     }
 
+    /*
+     * Get the number of cells visited up to the current step.
+     *
+     * @return      The number of visit steps shown
+     */
+    public int getSolutionVisitCount() {
+        return mazeSolution.getVisitCount();
+    }
 
+    /*
+     * Check if the whole solution has been shown.
+     *
+     * @return      Whether or not the replay is at its last step
+     */
+    public boolean isSolutionShown() {
+        return mazeSolution.isAtEnd();
+    }
 }
@@ -0,0 +1,340 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Level-Synchronous Parallel Breadth-First Search Maze Solver
+ *
+ * Expands the maze one distance level at a time. The frontier of a level is
+ * cut into chunks that are expanded in parallel on a ForkJoinPool, a cell is
+ * claimed for the next level with a compare-and-set on a visited bitmap so
+ * only one chunk ever adds it. Each chunk writes into its own buffer and the
+ * buffers are copied into the next frontier at offsets from a prefix sum,
+ * nothing is locked.
+ *
+ * Levels with a frontier smaller than one chunk are expanded on the calling
+ * thread, a perfect maze rarely has a wide frontier so the pool mostly pays
+ * off on large mazes with loops.
+ */
+public class ParallelBreadthFirstSolver implements MazeSolver {
+
+    // Frontier Cells per Chunk
+    private static final int GRAIN = 4096;
+
+    // Phases
+    private static final int EXPAND = 0;
+    private static final int MERGE = 1;
+
+    private ForkJoinPool pool;
+
+    // Visited Bitmap, One Bit per Cell
+    private AtomicLongArray claimed;
+
+    // Distance From the Start, Only Valid for Claimed Cells
+    private int distance[];
+
+    // Current and Next Frontier
+    private int frontier[];
+    private int frontierSize;
+    private int next[];
+
+    // Per Chunk Output Buffers and their Offsets in the Next Frontier
+    private int chunkBuffers[][];
+    private int chunkSizes[];
+    private int chunkOffsets[];
+
+    private WallGrid walls;
+    private int level;
+    private int expandedCount;
+
+    /*
+     * Constructor for the ParallelBreadthFirstSolver class, using the common
+     * pool.
+     */
+    public ParallelBreadthFirstSolver() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /*
+     * Constructor for the ParallelBreadthFirstSolver class.
+     *
+     * @param   pool    The pool to expand the frontier on
+     */
+    public ParallelBreadthFirstSolver(ForkJoinPool pool) {
+        this.pool = pool;
+        claimed = new AtomicLongArray(0);
+        distance = new int[0];
+        frontier = new int[0];
+        next = new int[0];
+        chunkBuffers = new int[0][];
+        chunkSizes = new int[0];
+        chunkOffsets = new int[0];
+        expandedCount = 0;
+    }
+
+    public int[] solve(MazeModel mazeModel, int start, int goal, SolveTrace trace) {
+
+        search(mazeModel, start, goal, trace);
+
+        if (!isClaimed(goal)) {
+            return new int[0];
+        }
+
+        // Walk Back Down the Levels From the Goal
+        int length = distance[goal] + 1;
+        int path[] = new int[length];
+        int cell = goal;
+        path[length - 1] = goal;
+
+        for (int i = length - 2; i >= 0; i--) {
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(cell, direction)) {
+                    int neighbor = walls.neighbor(cell, direction);
+                    if (isClaimed(neighbor) && distance[neighbor] == i) {
+                        cell = neighbor;
+                        break;
+                    }
+                }
+            }
+            path[i] = cell;
+        }
+
+        if (trace != null) {
+            for (int i = 0; i < length; i++) {
+                trace.add(path[i], SolveTrace.PATH);
+            }
+        }
+        return path;
+    }
+
+    /*
+     * Computes the distance of every cell from a source cell.
+     *
+     * @param   mazeModel   The maze to search
+     * @param   source      The cell to measure from
+     * @return              The distance of each cell, -1 for cells that can
+     *                      not be reached
+     */
+    public int[] distanceMap(MazeModel mazeModel, int source) {
+
+        search(mazeModel, source, -1, null);
+
+        int cellCount = mazeModel.getRows() * mazeModel.getColumns();
+        int map[] = new int[cellCount];
+        for (int cell = 0; cell < cellCount; cell++) {
+            map[cell] = isClaimed(cell) ? distance[cell] : -1;
+        }
+        return map;
+    }
+
+    /*
+     * Expands the levels out from the start until the goal is claimed or the
+     * frontier runs out.
+     *
+     * @param   mazeModel   The maze to search
+     * @param   start       The cell to start from
+     * @param   goal        The cell to stop at, -1 to reach every cell
+     * @param   trace       The trace to record the expanded cells in, or null
+     */
+    private void search(MazeModel mazeModel, int start, int goal, SolveTrace trace) {
+
+        walls = mazeModel.getWalls();
+        int cellCount = mazeModel.getRows() * mazeModel.getColumns();
+
+        int words = (cellCount + 63) >>> 6;
+        if (claimed.length() < words) {
+            claimed = new AtomicLongArray(words);
+        }
+        else {
+            for (int i = 0; i < words; i++) {
+                claimed.set(i, 0L);
+            }
+        }
+        if (distance.length < cellCount) {
+            distance = new int[cellCount];
+        }
+        if (frontier.length == 0) {
+            frontier = new int[GRAIN];
+            next = new int[GRAIN];
+        }
+        expandedCount = 0;
+
+        claim(start);
+        distance[start] = 0;
+        frontier[0] = start;
+        frontierSize = 1;
+        level = 0;
+
+        while (frontierSize > 0) {
+
+            expandedCount += frontierSize;
+            if (trace != null) {
+                for (int i = 0; i < frontierSize; i++) {
+                    trace.add(frontier[i], SolveTrace.VISIT);
+                }
+            }
+
+            if (goal != -1 && isClaimed(goal)) {
+                return;
+            }
+
+            int chunks = (frontierSize + GRAIN - 1) / GRAIN;
+            ensureChunks(chunks);
+
+            if (chunks == 1) {
+                expand(0);
+            }
+            else {
+                pool.invoke(new LevelTask(EXPAND, 0, chunks));
+            }
+
+            // Place Each Chunk's Buffer in the Next Frontier
+            int nextSize = 0;
+            for (int i = 0; i < chunks; i++) {
+                chunkOffsets[i] = nextSize;
+                nextSize += chunkSizes[i];
+            }
+            if (next.length < nextSize) {
+                next = new int[Math.max(nextSize, next.length * 2)];
+            }
+
+            if (chunks == 1) {
+                merge(0);
+            }
+            else {
+                pool.invoke(new LevelTask(MERGE, 0, chunks));
+            }
+
+            int swap[] = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+            level++;
+        }
+    }
+
+    /*
+     * Makes sure there is an output buffer for every chunk of the frontier.
+     *
+     * @param   chunks      The number of chunks
+     */
+    private void ensureChunks(int chunks) {
+        if (chunkBuffers.length < chunks) {
+            int oldLength = chunkBuffers.length;
+            chunkBuffers = Arrays.copyOf(chunkBuffers, Math.max(chunks, oldLength * 2));
+            chunkSizes = new int[chunkBuffers.length];
+            chunkOffsets = new int[chunkBuffers.length];
+        }
+        for (int i = 0; i < chunks; i++) {
+            // Every cell but the start adds at most three new neighbors
+            if (chunkBuffers[i] == null) {
+                chunkBuffers[i] = new int[3 * GRAIN + 1];
+            }
+        }
+    }
+
+    /*
+     * Expands one chunk of the frontier into its buffer.
+     *
+     * @param   chunk       The chunk to expand
+     */
+    private void expand(int chunk) {
+        int buffer[] = chunkBuffers[chunk];
+        int count = 0;
+        int first = chunk * GRAIN;
+        int last = Math.min(frontierSize, first + GRAIN);
+        int nextLevel = level + 1;
+
+        for (int i = first; i < last; i++) {
+            int cell = frontier[i];
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.isOpen(cell, direction)) {
+                    int neighbor = walls.neighbor(cell, direction);
+                    if (claim(neighbor)) {
+                        distance[neighbor] = nextLevel;
+                        buffer[count++] = neighbor;
+                    }
+                }
+            }
+        }
+        chunkSizes[chunk] = count;
+    }
+
+    /*
+     * Copies one chunk's buffer into the next frontier.
+     *
+     * @param   chunk       The chunk to copy
+     */
+    private void merge(int chunk) {
+        System.arraycopy(chunkBuffers[chunk], 0, next, chunkOffsets[chunk], chunkSizes[chunk]);
+    }
+
+    /*
+     * Claims an unvisited cell for the next level.
+     *
+     * @param   cell    The cell to claim
+     * @return          Whether or not this call claimed the cell
+     */
+    private boolean claim(int cell) {
+        int word = cell >>> 6;
+        long bit = 1L << cell;
+        while (true) {
+            long bits = claimed.get(word);
+            if ((bits & bit) != 0) {
+                return false;
+            }
+            if (claimed.compareAndSet(word, bits, bits | bit)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean isClaimed(int cell) {
+        return (claimed.get(cell >>> 6) & (1L << cell)) != 0;
+    }
+
+    public int getExpandedCount() {
+        return expandedCount;
+    }
+
+    public String getName() {
+        return "Breadth-First Search (Parallel)";
+    }
+
+    /*
+     * Fork-join task running a phase over a range of frontier chunks.
+     */
+    private class LevelTask extends RecursiveAction {
+
+        private int phase;
+        private int from, to;
+
+        LevelTask(int phase, int from, int to) {
+            this.phase = phase;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (to - from == 1) {
+                if (phase == EXPAND) {
+                    expand(from);
+                }
+                else {
+                    merge(from);
+                }
+            }
+            else if (to > from) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new LevelTask(phase, from, middle), new LevelTask(phase, middle, to));
+            }
+        }
+    }
+}
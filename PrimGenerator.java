@@ -0,0 +1,68 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/*
+ * Prim Maze Generator
+ *
+ * Grows the maze from a single cell. Each step takes a random cell from
+ * the frontier around the maze and connects it to a random neighbor that
+ * is already part of the maze. The frontier is an int list with swap
+ * removal.
+ */
+public class PrimGenerator implements MazeGenerator {
+
+    public void generate(MazeModel mazeModel, SplittableRandom random) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int cellCount = walls.getRows() * walls.getColumns();
+
+        // Frontier Cells and Membership Flags
+        int frontier[] = mazeModel.getScratch(0, cellCount);
+        int inFrontier[] = mazeModel.getScratch(1, cellCount);
+        Arrays.fill(inFrontier, 0, cellCount, 0);
+        int frontierCount = 0;
+
+        mazeModel.unvisitCells();
+
+        int cell = 0;
+        while (cell != -1) {
+
+            mazeModel.visit(cell);
+
+            // Add the Unvisited Neighbors to the Frontier
+            for (int direction = 0; direction < 4; direction++) {
+                if (walls.hasNeighbor(cell, direction)) {
+                    int next = walls.neighbor(cell, direction);
+                    if (inFrontier[next] == 0 && !mazeModel.isVisited(next)) {
+                        inFrontier[next] = 1;
+                        frontier[frontierCount++] = next;
+                    }
+                }
+            }
+
+            if (frontierCount > 0) {
+                // Take a Random Frontier Cell
+                int i = random.nextInt(frontierCount);
+                cell = frontier[i];
+                frontier[i] = frontier[--frontierCount];
+
+                // Connect it to the Maze
+                int direction = mazeModel.randomNeighbor(cell, true, random);
+                mazeModel.carve(walls.edge(cell, direction));
+            }
+            else {
+                cell = -1;
+            }
+        }
+    }
+
+    public String getName() {
+        return "Prim";
+    }
+}
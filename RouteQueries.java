@@ -0,0 +1,290 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Batch route queries over a frozen copy of a maze.
+ *
+ * The walls are copied when the queries are created, and nothing is written
+ * to the copy afterwards, so any number of threads can query it while the
+ * original maze is regenerated. Batches are split into chunks answered in
+ * parallel on a ForkJoinPool.
+ *
+ * A perfect maze is answered from a MazeTreeIndex, which needs no scratch
+ * space at all. A maze with loops falls back to a breadth-first search per
+ * query. Each chunk of a batch borrows a solver and its buffers from the
+ * queries and gives it back, and the solvers are let go once the batch is
+ * answered, so nothing sized to the maze is left behind on the pool's
+ * threads.
+ */
+public class RouteQueries {
+
+    // Queries per Chunk
+    private static final int GRAIN = 1024;
+
+    // Phases
+    private static final int LENGTHS = 0;
+    private static final int PATHS = 1;
+
+    private final MazeModel maze;
+    private final int cellCount;
+    private final ForkJoinPool pool;
+
+    // Tree Index of a Perfect Maze, Null When the Maze has Loops
+    private final MazeTreeIndex treeIndex;
+
+    // Scratch Solvers Not Lent Out
+    private final ConcurrentLinkedQueue<BreadthFirstSolver> idleSolvers;
+
+    /*
+     * Constructor for the RouteQueries class, using the common pool.
+     *
+     * @param   mazeModel   The maze to freeze
+     */
+    public RouteQueries(MazeModel mazeModel) {
+        this(mazeModel, ForkJoinPool.commonPool());
+    }
+
+    /*
+     * Constructor for the RouteQueries class.
+     *
+     * @param   mazeModel   The maze to freeze
+     * @param   pool        The pool to answer batches on
+     */
+    public RouteQueries(MazeModel mazeModel, ForkJoinPool pool) {
+        this.maze = new MazeModel(mazeModel);
+        this.cellCount = maze.getRows() * maze.getColumns();
+        this.pool = pool;
+
+        idleSolvers = new ConcurrentLinkedQueue<BreadthFirstSolver>();
+
+        // Only a spanning tree gives shortest routes through its ancestors
+        MazeTreeIndex index = new MazeTreeIndex();
+        index.build(maze, 0);
+        treeIndex = index.isSpanningTree(maze) ? index : null;
+    }
+
+    /*
+     * Gets the number of steps between two cells.
+     *
+     * @param   start       The cell to start from
+     * @param   goal        The cell to reach
+     * @return              The number of steps, or -1 if there is no route
+     */
+    public int length(int start, int goal) {
+        if (treeIndex != null) {
+            return treeIndex.distance(start, goal);
+        }
+        return search(start, goal).length - 1;
+    }
+
+    /*
+     * Gets the route between two cells.
+     *
+     * @param   start       The cell to start from
+     * @param   goal        The cell to reach
+     * @return              The cells of the route from start to goal, empty
+     *                      if there is no route
+     */
+    public int[] path(int start, int goal) {
+        if (treeIndex != null) {
+            return treeIndex.path(start, goal);
+        }
+        return search(start, goal);
+    }
+
+    /*
+     * Searches for a single route with a borrowed solver.
+     */
+    private int[] search(int start, int goal) {
+        BreadthFirstSolver solver = borrowSolver();
+        try {
+            return solver.solve(maze, start, goal, null);
+        }
+        finally {
+            idleSolvers.add(solver);
+        }
+    }
+
+    /*
+     * Takes an idle solver, or makes one when every solver is lent out.
+     *
+     * @return      A solver only the caller uses until it is given back
+     */
+    private BreadthFirstSolver borrowSolver() {
+        BreadthFirstSolver solver = idleSolvers.poll();
+        return (solver != null) ? solver : new BreadthFirstSolver();
+    }
+
+    /*
+     * Answers a batch of route lengths in parallel.
+     *
+     * @param   starts      The start cell of each query
+     * @param   goals       The goal cell of each query
+     * @return              The number of steps of each route, -1 where there
+     *                      is no route
+     */
+    public int[] lengths(int[] starts, int[] goals) {
+        checkBatch(starts, goals);
+
+        int lengths[] = new int[starts.length];
+        try {
+            pool.invoke(new BatchTask(LENGTHS, starts, goals, lengths, null, null, 0, starts.length));
+        }
+        finally {
+            idleSolvers.clear();
+        }
+        return lengths;
+    }
+
+    /*
+     * Answers a batch of routes in parallel, packed one after another into a
+     * single array. The cells of query i run from offsets[i] up to
+     * offsets[i + 1], an empty range where there is no route.
+     *
+     * @param   starts      The start cell of each query
+     * @param   goals       The goal cell of each query
+     * @param   offsets     Filled with the start of each route, one longer
+     *                      than the batch
+     * @return              The cells of every route
+     */
+    public int[] paths(int[] starts, int[] goals, int[] offsets) {
+        checkBatch(starts, goals);
+        if (offsets.length != starts.length + 1) {
+            throw new IllegalArgumentException("offsets must be one longer than the batch");
+        }
+
+        int count = starts.length;
+        int lengths[] = new int[count];
+
+        // Searches are kept from the first pass so a maze with loops is only
+        // searched once per query
+        int searched[][] = (treeIndex == null) ? new int[count][] : null;
+        try {
+            pool.invoke(new BatchTask(LENGTHS, starts, goals, lengths, searched, null, 0, count));
+        }
+        finally {
+            idleSolvers.clear();
+        }
+
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            offsets[i] = (int) total;
+            total += lengths[i] + 1;
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("routes of the batch do not fit in one array");
+        }
+        offsets[count] = (int) total;
+
+        int cells[] = new int[(int) total];
+        pool.invoke(new BatchTask(PATHS, starts, goals, offsets, searched, cells, 0, count));
+        return cells;
+    }
+
+    private static void checkBatch(int[] starts, int[] goals) {
+        if (starts.length != goals.length) {
+            throw new IllegalArgumentException("starts and goals must be the same length");
+        }
+    }
+
+
+    // GETTERS
+
+    public int getRows() {
+        return maze.getRows();
+    }
+
+    public int getColumns() {
+        return maze.getColumns();
+    }
+
+    /*
+     * Checks if the frozen maze is perfect and answered from its tree index.
+     *
+     * @return      Whether or not the tree index is used
+     */
+    public boolean isIndexed() {
+        return treeIndex != null;
+    }
+
+    /*
+     * Fork-join task answering a range of queries of a batch.
+     */
+    private class BatchTask extends RecursiveAction {
+
+        private int phase;
+        private int starts[];
+        private int goals[];
+        private int values[];
+        private int searched[][];
+        private int cells[];
+        private int from, to;
+
+        /*
+         * Constructor for the BatchTask class.
+         *
+         * @param   values      The lengths written in the LENGTHS phase, the
+         *                      offsets read in the PATHS phase
+         * @param   searched    Filled with the routes of a maze with loops in
+         *                      the LENGTHS phase when not null
+         * @param   cells       The packed routes written in the PATHS phase
+         */
+        BatchTask(int phase, int[] starts, int[] goals, int[] values, int[][] searched, int[] cells,
+                int from, int to) {
+            this.phase = phase;
+            this.starts = starts;
+            this.goals = goals;
+            this.values = values;
+            this.searched = searched;
+            this.cells = cells;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchTask(phase, starts, goals, values, searched, cells, from, middle),
+                        new BatchTask(phase, starts, goals, values, searched, cells, middle, to));
+                return;
+            }
+
+            if (phase == LENGTHS && treeIndex == null) {
+                // One solver serves the whole chunk
+                BreadthFirstSolver solver = borrowSolver();
+                try {
+                    for (int i = from; i < to; i++) {
+                        int path[] = solver.solve(maze, starts[i], goals[i], null);
+                        values[i] = path.length - 1;
+                        if (searched != null) {
+                            searched[i] = path;
+                        }
+                    }
+                }
+                finally {
+                    idleSolvers.add(solver);
+                }
+                return;
+            }
+
+            for (int i = from; i < to; i++) {
+                if (phase == LENGTHS) {
+                    values[i] = treeIndex.distance(starts[i], goals[i]);
+                }
+                else if (searched != null) {
+                    System.arraycopy(searched[i], 0, cells, values[i], searched[i].length);
+                }
+                else {
+                    treeIndex.pathInto(starts[i], goals[i], cells, values[i]);
+                }
+            }
+        }
+    }
+}
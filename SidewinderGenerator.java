@@ -0,0 +1,48 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.SplittableRandom;
+
+/*
+ * Sidewinder Maze Generator
+ *
+ * Works one row at a time. Cells are joined to the east into runs, and
+ * each run is closed by carving up from one random cell of the run. The
+ * top row is a single corridor. Only the start of the current run is kept.
+ */
+public class SidewinderGenerator implements MazeGenerator {
+
+    public void generate(MazeModel mazeModel, SplittableRandom random) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int rows = walls.getRows();
+        int columns = walls.getColumns();
+
+        for (int r = 0; r < rows; r++) {
+            int runStart = 0;
+
+            for (int c = 0; c < columns; c++) {
+                int cell = r * columns + c;
+                boolean closeRun = (c == columns - 1) || (r > 0 && random.nextBoolean());
+
+                if (!closeRun) {
+                    mazeModel.carve(walls.edge(cell, WallGrid.RIGHT));
+                }
+                else {
+                    if (r > 0) {
+                        int runCell = r * columns + runStart + random.nextInt(c - runStart + 1);
+                        mazeModel.carve(walls.edge(runCell, WallGrid.UP));
+                    }
+                    runStart = c + 1;
+                }
+            }
+        }
+    }
+
+    public String getName() {
+        return "Sidewinder";
+    }
+}
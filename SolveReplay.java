@@ -0,0 +1,234 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.Arrays;
+
+/*
+ * Seekable replay of a solve trace.
+ *
+ * The steps are kept packed as in SolveTrace, along with the state each
+ * step's cell had before it, so the replay can step backwards as cheaply as
+ * forwards. Every keyframe interval steps a copy of every cell's state is
+ * kept too, so a seek further than that jumps to the closest keyframe and
+ * only steps the rest of the way. The interval is never shorter than the
+ * number of cells, which keeps the keyframes no bigger than the steps.
+ *
+ * A cell's state is UNMARKED, or the kind of the last step on it plus one.
+ * Each seek collects the cells it changed, so a view only has to redraw
+ * those.
+ */
+public class SolveReplay {
+
+    // State of a Cell no Step has Reached
+    public static final int UNMARKED = 0;
+
+    // Shortest Keyframe Interval
+    private static final int MIN_KEYFRAME_INTERVAL = 1024;
+
+    // Packed Steps and the State of Their Cell Before Each
+    private int steps[];
+    private byte previous[];
+    private int size;
+
+    // Keyframes, the States and Visit Count Before Every Interval Steps
+    private int keyframeInterval;
+    private byte keyframes[][];
+    private int keyframeVisits[];
+
+    // Current State
+    private int cellCount;
+    private byte states[];
+    private int position;
+    private int visitCount;
+
+    // Cells Changed by the Last Seek
+    private VisitMarks changedMarks;
+    private int changed[];
+    private int changedCount;
+
+    /*
+     * Constructor for the SolveReplay class.
+     */
+    public SolveReplay() {
+        steps = new int[0];
+        previous = new byte[0];
+        keyframes = new byte[0][];
+        keyframeVisits = new int[0];
+        states = new byte[0];
+        changedMarks = new VisitMarks(0);
+        changed = new int[0];
+        clear();
+    }
+
+    /*
+     * Loads the steps of a trace, with every cell unmarked and the replay at
+     * its first step.
+     *
+     * @param   trace       The trace to replay
+     * @param   cellCount   The number of cells of the maze
+     */
+    public void load(SolveTrace trace, int cellCount) {
+        this.cellCount = cellCount;
+        size = trace.size();
+
+        if (steps.length < size) {
+            steps = new int[size];
+            previous = new byte[size];
+        }
+        if (states.length < cellCount) {
+            states = new byte[cellCount];
+            changed = new int[cellCount];
+        }
+        changedMarks.resize(cellCount);
+        Arrays.fill(states, 0, cellCount, (byte) UNMARKED);
+
+        keyframeInterval = Math.max(MIN_KEYFRAME_INTERVAL, cellCount);
+        int keyframeCount = size / keyframeInterval + 1;
+        keyframes = new byte[keyframeCount][];
+        keyframeVisits = new int[keyframeCount];
+
+        // Play the whole trace once to record what each step overwrites
+        int visits = 0;
+        for (int i = 0; i <= size; i++) {
+            if (i % keyframeInterval == 0) {
+                keyframes[i / keyframeInterval] = Arrays.copyOf(states, cellCount);
+                keyframeVisits[i / keyframeInterval] = visits;
+            }
+            if (i == size) {
+                break;
+            }
+
+            int step = trace.get(i);
+            int cell = SolveTrace.stepCell(step);
+            steps[i] = step;
+            previous[i] = states[cell];
+            states[cell] = (byte) (SolveTrace.stepKind(step) + 1);
+            if (SolveTrace.stepKind(step) == SolveTrace.VISIT) {
+                visits++;
+            }
+        }
+
+        Arrays.fill(states, 0, cellCount, (byte) UNMARKED);
+        position = 0;
+        visitCount = 0;
+        changedCount = 0;
+    }
+
+    /*
+     * Empties the replay.
+     */
+    public void clear() {
+        size = 0;
+        cellCount = 0;
+        position = 0;
+        visitCount = 0;
+        changedCount = 0;
+        keyframeInterval = MIN_KEYFRAME_INTERVAL;
+    }
+
+    /*
+     * Moves the replay to just before a step, forwards or backwards.
+     *
+     * @param   target      The number of steps played after the seek, kept
+     *                      between 0 and the size of the trace
+     */
+    public void seek(int target) {
+        target = Math.max(0, Math.min(target, size));
+        changedMarks.clear();
+        changedCount = 0;
+
+        // Far seeks start from the closest keyframe, comparing every cell
+        if (Math.abs(target - position) > keyframeInterval) {
+            int keyframe = target / keyframeInterval;
+            byte keyStates[] = keyframes[keyframe];
+
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (states[cell] != keyStates[cell]) {
+                    states[cell] = keyStates[cell];
+                    markChanged(cell);
+                }
+            }
+            position = keyframe * keyframeInterval;
+            visitCount = keyframeVisits[keyframe];
+        }
+
+        while (position < target) {
+            int step = steps[position++];
+            int cell = SolveTrace.stepCell(step);
+            states[cell] = (byte) (SolveTrace.stepKind(step) + 1);
+            if (SolveTrace.stepKind(step) == SolveTrace.VISIT) {
+                visitCount++;
+            }
+            markChanged(cell);
+        }
+
+        while (position > target) {
+            int step = steps[--position];
+            int cell = SolveTrace.stepCell(step);
+            states[cell] = previous[position];
+            if (SolveTrace.stepKind(step) == SolveTrace.VISIT) {
+                visitCount--;
+            }
+            markChanged(cell);
+        }
+    }
+
+    private void markChanged(int cell) {
+        if (!changedMarks.isVisited(cell)) {
+            changedMarks.visit(cell);
+            changed[changedCount++] = cell;
+        }
+    }
+
+    /*
+     * Checks if every step has been played.
+     *
+     * @return      Whether or not the replay is at its end
+     */
+    public boolean isAtEnd() {
+        return position == size;
+    }
+
+    /*
+     * Gets a cell changed by the last seek.
+     *
+     * @param   i       The index of the change, below getChangedCount
+     * @return          The flat index of the cell
+     */
+    public int getChangedCell(int i) {
+        return changed[i];
+    }
+
+    /*
+     * Gets the state of a cell.
+     *
+     * @param   cell    The flat index of the cell
+     * @return          UNMARKED, or the kind of the last step played on the
+     *                  cell plus one
+     */
+    public int getState(int cell) {
+        return states[cell];
+    }
+
+
+    // GETTERS
+
+    public int size() {
+        return size;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public int getVisitCount() {
+        return visitCount;
+    }
+
+    public int getChangedCount() {
+        return changedCount;
+    }
+}
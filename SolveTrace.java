@@ -0,0 +1,130 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.Arrays;
+
+/*
+ * Growable log of solver steps, read back through a cursor.
+ *
+ * Each step is packed into a single int, the flat cell index shifted left
+ * by two with the low bits holding the kind of step. The step is read back
+ * as an unsigned int, so cells go up to 2^30, the most a WallGrid holds, and
+ * add rejects any cell past that instead of losing its top bits.
+ */
+public class SolveTrace {
+
+    // Step Kinds
+    public static final int VISIT = 0;
+    public static final int BACKTRACK = 1;
+    public static final int PATH = 2;
+
+    // Step Packing
+    private static final int KIND_BITS = 2;
+    private static final int KIND_MASK = 3;
+
+    // Number of Cells a Packed Step can Hold
+    private static final int MAX_CELLS = 1 << (32 - KIND_BITS);
+
+    // Constant Default Capacity
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int steps[];
+    private int size;
+    private int cursor;
+
+    /*
+     * Constructor for the SolveTrace class.
+     */
+    public SolveTrace() {
+        steps = new int[DEFAULT_CAPACITY];
+        size = 0;
+        cursor = 0;
+    }
+
+    /*
+     * Appends a step to the trace.
+     *
+     * @param   cell        The flat index of the cell
+     * @param   kind        VISIT, BACKTRACK or PATH
+     */
+    public void add(int cell, int kind) {
+        if (cell < 0 || cell >= MAX_CELLS) {
+            throw new IllegalArgumentException("cell " + cell + " does not fit a step of the trace");
+        }
+        if (size == steps.length) {
+            steps = Arrays.copyOf(steps, steps.length * 2);
+        }
+        steps[size++] = (cell << KIND_BITS) | kind;
+    }
+
+    /*
+     * Empties the trace, keeping its storage.
+     */
+    public void clear() {
+        size = 0;
+        cursor = 0;
+    }
+
+    /*
+     * Moves the cursor back to the first step.
+     */
+    public void rewind() {
+        cursor = 0;
+    }
+
+    /*
+     * Checks if the cursor has steps left to read.
+     *
+     * @return      Whether or not there is a next step
+     */
+    public boolean hasNext() {
+        return cursor < size;
+    }
+
+    /*
+     * Reads the step under the cursor and moves past it.
+     *
+     * @return      The packed step
+     */
+    public int next() {
+        return steps[cursor++];
+    }
+
+    /*
+     * Gets the cell of a packed step.
+     *
+     * @param   step    The packed step
+     * @return          The flat index of the cell
+     */
+    public static int stepCell(int step) {
+        return step >>> KIND_BITS;
+    }
+
+    /*
+     * Gets the kind of a packed step.
+     *
+     * @param   step    The packed step
+     * @return          VISIT, BACKTRACK or PATH
+     */
+    public static int stepKind(int step) {
+        return step & KIND_MASK;
+    }
+
+
+    // GETTERS
+
+    public int size() {
+        return size;
+    }
+
+    public int getCursor() {
+        return cursor;
+    }
+
+    public int get(int i) {
+        return steps[i];
+    }
+}
@@ -13,20 +13,23 @@ import java.awt.*;
 public class SolveView extends JPanel {
 
     // Constant Default Values
-    private static final int DEFAULT_SPEED = 6;
+    private static final int DEFAULT_SPEED = 4;
 
     // Solve Buttons
-    private static JButton solveButton, resetButton;
+    private static JButton solveButton, resetButton, endButton;
 
-    // Solve Label
-    private static JLabel speedLabel;
+    // Solve Labels
+    private static JLabel speedLabel, algorithmLabel, expandedLabel, stepLabel;
 
-    // Solve Slider
-    private static JSlider speedSlider;
+    // Solve Sliders
+    private static JSlider speedSlider, stepSlider;
 
     // Solve CheckBox
     private static JCheckBox showSolveBox;
 
+    // Solve Algorithm Box
+    private static JComboBox<MazeSolver> algorithmBox;
+
     /*
      * Constructor for the SolveView.
      *
@@ -38,41 +41,63 @@ public class SolveView extends JPanel {
         // Initialize Buttons
         solveButton = new JButton("Solve");
         resetButton = new JButton("Reset");
+        endButton = new JButton("Skip to End");
 
         // Initialize Labels
         speedLabel = new JLabel("Speed:");
+        algorithmLabel = new JLabel("Algorithm:");
+        expandedLabel = new JLabel("Expanded: 0");
+        stepLabel = new JLabel("Step:");
 
         // Initialize Sliders
         speedSlider = new JSlider(JSlider.HORIZONTAL, 1, 11, DEFAULT_SPEED);
+        stepSlider = new JSlider(JSlider.HORIZONTAL, 0, 0, 0);
 
         // Initialize CheckBox
         showSolveBox = new JCheckBox("Show Solution");
         showSolveBox.setHorizontalAlignment(SwingConstants.CENTER);
 
-        // Set Up Label
+        // Initialize Algorithm Box
+        algorithmBox = new JComboBox<>(MazeEngine.getSolvers());
+        algorithmBox.setRenderer(new DefaultListCellRenderer() {
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected, boolean cellHasFocus) {
+                return super.getListCellRendererComponent(list, ((MazeSolver) value).getName(), index, isSelected, cellHasFocus);
+            }
+        });
+
+        // Set Up Labels
         speedLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        algorithmLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        expandedLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        stepLabel.setHorizontalAlignment(SwingConstants.CENTER);
 
         // Set Up Button
         solveButton.addActionListener(C);
         resetButton.addActionListener(C);
+        endButton.addActionListener(C);
 
-        // Set Up Slider
-        speedSlider.addChangeListener(C);
+        // Set Up Sliders
+        stepSlider.addChangeListener(C);
 
         // Set Up CheckBox
         showSolveBox.setSelected(true);
         showSolveBox.addItemListener(C);
 
+        // Set Up Algorithm Box
+        algorithmBox.addActionListener(C);
+
         // Set Layout
-        setLayout(new GridLayout(9, 1, 0, 5));
+        setLayout(new GridLayout(11, 1, 0, 5));
 
         // Add Items to Panel
         add(speedLabel);
         add(speedSlider);
-
-        for (int i = 0; i < 4; i++) {
-            add(new JLabel());
-        }
+        add(algorithmLabel);
+        add(algorithmBox);
+        add(expandedLabel);
+        add(stepLabel);
+        add(stepSlider);
+        add(endButton);
 
         add(showSolveBox);
         add(solveButton);
@@ -115,6 +140,24 @@ public class SolveView extends JPanel {
         return resetButton;
     }
 
+    /*
+     * Gets the skip to end button.
+     *
+     * @return  The skip to end button
+     */
+    public JButton getEndButton() {
+        return endButton;
+    }
+
+    /*
+     * Gets the step slider.
+     *
+     * @return  The step slider
+     */
+    public JSlider getStepSlider() {
+        return stepSlider;
+    }
+
     /*
      * Gets the speed slider.
      *
@@ -125,12 +168,21 @@ public class SolveView extends JPanel {
     }
 
     /*
-     * Gets the default speed.
+     * Gets the solve algorithm box.
      *
-     * @return  The default speed
+     * @return  The algorithm box
      */
-    public int getDefaultSpeed() {
-        return DEFAULT_SPEED;
+    public JComboBox<MazeSolver> getAlgorithmBox() {
+        return algorithmBox;
+    }
+
+    /*
+     * Gets the selected solve algorithm.
+     *
+     * @return  The selected maze solver
+     */
+    public MazeSolver getSelectedSolver() {
+        return (MazeSolver) algorithmBox.getSelectedItem();
     }
 
 
@@ -144,4 +196,33 @@ public class SolveView extends JPanel {
     public void setSolveButtonText(String s) {
         solveButton.setText(s);
     }
+
+    /*
+     * Sets the number of steps of the solution and moves the step slider
+     * back to the first.
+     *
+     * @param   count   The number of steps
+     */
+    public void setStepCount(int count) {
+        stepSlider.setValue(0);
+        stepSlider.setMaximum(count);
+    }
+
+    /*
+     * Moves the step slider.
+     *
+     * @param   step    The step shown
+     */
+    public void setStep(int step) {
+        stepSlider.setValue(step);
+    }
+
+    /*
+     * Sets the expanded cells label text.
+     *
+     * @param   s       The new text
+     */
+    public void setExpandedLabel(String s) {
+        expandedLabel.setText(s);
+    }
 }
@@ -0,0 +1,265 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/*
+ * Exports a maze as a pyramid of PNG tiles, for mazes whose full picture is
+ * too big for a single image.
+ *
+ * The tiles are laid out like a slippy map, tile x, y of zoom level z in
+ * z/x/y.png under the export directory. The deepest level shows the maze at
+ * the chosen number of pixels per cell, and each level above it is half the
+ * size of the one below, down to level 0 which fits the maze in one tile.
+ * An index.json next to the levels describes the pyramid.
+ *
+ * Tiles are made by a fork-join task per tile. A deepest tile is rendered
+ * straight from the walls, and any other tile waits for its four children
+ * and averages them down, so every tile is rendered once and the memory in
+ * use is a few tiles per thread for each level being worked on, however big
+ * the maze is.
+ */
+public class TileExporter {
+
+    // Side of a Tile in Pixels
+    public static final int TILE_SIZE = 256;
+
+    // Export Defaults for the Command Line
+    private static final int DEFAULT_CELL_PIXELS = 8;
+
+    // Heap the Command Line Needs per Cell, for the Maze, its Generation
+    // and the Path Search
+    private static final int HEAP_BYTES_PER_CELL = 25;
+
+    private final MazeTileRenderer renderer;
+    private final ForkJoinPool pool;
+    private final int maxZoom;
+
+    private File directory;
+
+    /*
+     * Constructor for the TileExporter class, using the common pool.
+     *
+     * @param   mazeModel   The maze to export, which must not change while
+     *                      exporting
+     * @param   path        The cells of a path to color, or null
+     * @param   cellPixels  The width of a cell in pixels at the deepest level
+     */
+    public TileExporter(MazeModel mazeModel, int[] path, int cellPixels) {
+        this(mazeModel, path, cellPixels, ForkJoinPool.commonPool());
+    }
+
+    /*
+     * Constructor for the TileExporter class.
+     *
+     * @param   mazeModel   The maze to export, which must not change while
+     *                      exporting
+     * @param   path        The cells of a path to color, or null
+     * @param   cellPixels  The width of a cell in pixels at the deepest level
+     * @param   pool        The pool to render tiles on
+     */
+    public TileExporter(MazeModel mazeModel, int[] path, int cellPixels, ForkJoinPool pool) {
+        this.renderer = new MazeTileRenderer(mazeModel, path, cellPixels);
+        this.pool = pool;
+
+        // The fewest levels that fit the whole picture in one tile at level 0
+        long side = Math.max(renderer.getWidth(), renderer.getHeight());
+        int zoom = 0;
+        while (((long) TILE_SIZE << zoom) < side) {
+            zoom++;
+        }
+        maxZoom = zoom;
+    }
+
+    /*
+     * Writes every tile of the pyramid and its index.
+     *
+     * @param   directory   The directory to write to, created if missing
+     */
+    public void export(File directory) throws IOException {
+        this.directory = directory;
+        Files.createDirectories(directory.toPath());
+
+        try {
+            pool.invoke(new TileTask(0, 0, 0));
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writeIndex(new File(directory, "index.json"));
+    }
+
+    /*
+     * Writes the index of the pyramid.
+     *
+     * @param   file    The file to write
+     */
+    private void writeIndex(File file) throws IOException {
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            out.write("{\n");
+            out.write("  \"tiles\": \"{z}/{x}/{y}.png\",\n");
+            out.write("  \"tileSize\": " + TILE_SIZE + ",\n");
+            out.write("  \"rows\": " + renderer.getRows() + ",\n");
+            out.write("  \"columns\": " + renderer.getColumns() + ",\n");
+            out.write("  \"cellPixels\": " + renderer.getCellPixels() + ",\n");
+            out.write("  \"minZoom\": 0,\n");
+            out.write("  \"maxZoom\": " + maxZoom + ",\n");
+            out.write("  \"levels\": [\n");
+            for (int zoom = 0; zoom <= maxZoom; zoom++) {
+                out.write("    {\"zoom\": " + zoom
+                        + ", \"width\": " + levelWidth(zoom)
+                        + ", \"height\": " + levelHeight(zoom)
+                        + ", \"tilesX\": " + tilesAcross(levelWidth(zoom))
+                        + ", \"tilesY\": " + tilesAcross(levelHeight(zoom))
+                        + "}" + (zoom < maxZoom ? "," : "") + "\n");
+            }
+            out.write("  ]\n");
+            out.write("}\n");
+        }
+    }
+
+    /*
+     * Gets the width of the picture at a zoom level.
+     *
+     * @param   zoom    The zoom level
+     * @return          The width in pixels
+     */
+    public long levelWidth(int zoom) {
+        return shrink(renderer.getWidth(), maxZoom - zoom);
+    }
+
+    /*
+     * Gets the height of the picture at a zoom level.
+     *
+     * @param   zoom    The zoom level
+     * @return          The height in pixels
+     */
+    public long levelHeight(int zoom) {
+        return shrink(renderer.getHeight(), maxZoom - zoom);
+    }
+
+    private static long shrink(long pixels, int halvings) {
+        return (pixels + (1L << halvings) - 1) >> halvings;
+    }
+
+    private static long tilesAcross(long pixels) {
+        return (pixels + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    public int getMaxZoom() {
+        return maxZoom;
+    }
+
+    /*
+     * Fork-join task making one tile, returning its pixels for its parent
+     * to average down.
+     */
+    private class TileTask extends RecursiveTask<int[]> {
+
+        private int zoom, x, y;
+
+        TileTask(int zoom, int x, int y) {
+            this.zoom = zoom;
+            this.x = x;
+            this.y = y;
+        }
+
+        protected int[] compute() {
+            BufferedImage image = new BufferedImage(TILE_SIZE, TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+            int pixels[] = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+
+            if (zoom == maxZoom) {
+                renderer.render(pixels, TILE_SIZE, (long) x * TILE_SIZE, (long) y * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+            }
+            else {
+                long tilesX = tilesAcross(levelWidth(zoom + 1));
+                long tilesY = tilesAcross(levelHeight(zoom + 1));
+
+                // Children past the edge of the next level are background
+                TileTask children[] = new TileTask[4];
+                for (int i = 0; i < 4; i++) {
+                    int childX = 2 * x + (i & 1);
+                    int childY = 2 * y + (i >> 1);
+                    if (childX < tilesX && childY < tilesY) {
+                        children[i] = new TileTask(zoom + 1, childX, childY);
+                        children[i].fork();
+                    }
+                }
+
+                int half = TILE_SIZE / 2;
+                for (int i = 3; i >= 0; i--) {
+                    if (children[i] != null) {
+                        MazeTileRenderer.downsample(children[i].join(), TILE_SIZE, pixels, (i & 1) * half, (i >> 1) * half);
+                        children[i] = null;
+                    }
+                    else {
+                        MazeTileRenderer.clearQuarter(TILE_SIZE, pixels, (i & 1) * half, (i >> 1) * half);
+                    }
+                }
+            }
+
+            try {
+                File column = new File(directory, zoom + File.separator + x);
+                Files.createDirectories(column.toPath());
+                if (!ImageIO.write(image, "png", new File(column, y + ".png"))) {
+                    throw new IOException("no PNG writer available");
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return pixels;
+        }
+    }
+
+    /*
+     * Generates a maze, solves it and exports it. The tiles take a few
+     * megabytes at any size, the maze and the search for its path take about
+     * HEAP_BYTES_PER_CELL bytes of heap per cell.
+     *
+     * Usage: TileExporter rows columns directory [cellPixels] [seed]
+     */
+    public static void main(String arg[]) throws IOException {
+        if (arg.length < 3) {
+            System.out.println("Usage: TileExporter rows columns directory [cellPixels] [seed]");
+            System.out.println("Needs about " + HEAP_BYTES_PER_CELL + " bytes of heap per cell, e.g. -Xmx10g for 20000 x 20000");
+            return;
+        }
+
+        int rows = Integer.parseInt(arg[0]);
+        int columns = Integer.parseInt(arg[1]);
+        File directory = new File(arg[2]);
+        int cellPixels = (arg.length > 3) ? Integer.parseInt(arg[3]) : DEFAULT_CELL_PIXELS;
+
+        MazeEngine mazeEngine = new MazeEngine(rows, columns);
+        if (arg.length > 4) {
+            mazeEngine.generate(rows, columns, Long.parseLong(arg[4]));
+        }
+        else {
+            mazeEngine.generate(rows, columns);
+        }
+
+        // One search for the one path, without a trace or a route index
+        int path[] = new BreadthFirstSolver().solve(mazeEngine.getMazeModel(), 0, rows * columns - 1, null);
+
+        TileExporter exporter = new TileExporter(mazeEngine.getMazeModel(), path, cellPixels);
+        exporter.export(directory);
+        System.out.println("Exported zoom levels 0 to " + exporter.getMaxZoom() + " to " + directory);
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Parallel Tiled Maze Generator
+ *
+ * Splits the grid into square tiles and carves each tile with another
+ * generator on a ForkJoinPool. The tiles are then joined along a random
+ * spanning tree of the tile grid, one opening per joined pair of tiles, so
+ * the result is still a perfect maze.
+ *
+ * Every tile gets its own random stream, split off on the calling thread
+ * in tile order, and carves its walls into slots of the generation log
+ * reserved up front. The maze only depends on the seed and the tile size,
+ * never on how the tiles were scheduled.
+ *
+ * A tile is carved in a small model of its own, borrowed from the idle
+ * models of the generation and reset for the tile, so there are only ever
+ * about as many tile models as workers however many tiles there are.
+ */
+public class TiledGenerator implements MazeGenerator {
+
+    private MazeGenerator tileGenerator;
+    private int tileSize;
+    private ForkJoinPool pool;
+
+    /*
+     * Constructor for the TiledGenerator class, using the common pool.
+     *
+     * @param   tileGenerator   The generator used inside each tile
+     * @param   tileSize        The number of rows and columns of a tile
+     */
+    public TiledGenerator(MazeGenerator tileGenerator, int tileSize) {
+        this(tileGenerator, tileSize, ForkJoinPool.commonPool());
+    }
+
+    /*
+     * Constructor for the TiledGenerator class.
+     *
+     * @param   tileGenerator   The generator used inside each tile
+     * @param   tileSize        The number of rows and columns of a tile
+     * @param   pool            The pool to carve the tiles on
+     */
+    public TiledGenerator(MazeGenerator tileGenerator, int tileSize, ForkJoinPool pool) {
+        this.tileGenerator = tileGenerator;
+        this.tileSize = tileSize;
+        this.pool = pool;
+    }
+
+    public void generate(MazeModel mazeModel, SplittableRandom random) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int rows = walls.getRows();
+        int columns = walls.getColumns();
+
+        int tileRows = (rows + tileSize - 1) / tileSize;
+        int tileColumns = (columns + tileSize - 1) / tileSize;
+        int tileCount = tileRows * tileColumns;
+
+        // Split the Tile Streams in Tile Order
+        SplittableRandom tileRandoms[] = MazeEngine.splitStreams(random.nextLong(), tileCount);
+
+        // Each Tile Carves One Wall Less than its Cells, Find Where its Walls Go
+        int offsets[] = new int[tileCount + 1];
+        for (int t = 0; t < tileCount; t++) {
+            offsets[t + 1] = offsets[t] + tileHeight(t / tileColumns, rows) * tileWidth(t % tileColumns, columns) - 1;
+        }
+        int first = mazeModel.reserveCarves(offsets[tileCount]);
+        for (int t = 0; t <= tileCount; t++) {
+            offsets[t] += first;
+        }
+
+        // Carve the Tiles in Parallel
+        ConcurrentLinkedQueue<MazeModel> idleTiles = new ConcurrentLinkedQueue<MazeModel>();
+        pool.invoke(new TileTask(mazeModel, idleTiles, tileRandoms, offsets, tileColumns, 0, tileCount));
+        mazeModel.commitCarves();
+
+        // Join the Tiles Along a Random Spanning Tree of the Tile Grid
+        MazeModel tileTree = new MazeModel(tileRows, tileColumns);
+        new KruskalGenerator().generate(tileTree, random);
+
+        EdgeLog tileEdges = tileTree.getMazeGeneration();
+        for (int i = 0; i < tileEdges.size(); i++) {
+            int tileEdge = tileEdges.get(i);
+            int tile = WallGrid.edgeCell(tileEdge);
+            int tileR = tile / tileColumns;
+            int tileC = tile % tileColumns;
+
+            int edge;
+            if (WallGrid.isBottomEdge(tileEdge)) {
+                // Open the Bottom Boundary of the Tile
+                int r = (tileR + 1) * tileSize - 1;
+                int c = tileC * tileSize + random.nextInt(tileWidth(tileC, columns));
+                edge = walls.edge(r * columns + c, WallGrid.DOWN);
+            }
+            else {
+                // Open the Right Boundary of the Tile
+                int r = tileR * tileSize + random.nextInt(tileHeight(tileR, rows));
+                int c = (tileC + 1) * tileSize - 1;
+                edge = walls.edge(r * columns + c, WallGrid.RIGHT);
+            }
+
+            mazeModel.carve(edge);
+        }
+    }
+
+    private int tileHeight(int tileR, int rows) {
+        return Math.min(tileSize, rows - tileR * tileSize);
+    }
+
+    private int tileWidth(int tileC, int columns) {
+        return Math.min(tileSize, columns - tileC * tileSize);
+    }
+
+    public String getName() {
+        return "Parallel Tiled (" + tileGenerator.getName() + ")";
+    }
+
+    /*
+     * Fork-join task carving a range of tiles.
+     */
+    private class TileTask extends RecursiveAction {
+
+        private MazeModel mazeModel;
+        private ConcurrentLinkedQueue<MazeModel> idleTiles;
+        private SplittableRandom tileRandoms[];
+        private int offsets[];
+        private int tileColumns;
+        private int from, to;
+
+        TileTask(MazeModel mazeModel, ConcurrentLinkedQueue<MazeModel> idleTiles, SplittableRandom[] tileRandoms,
+                int[] offsets, int tileColumns, int from, int to) {
+            this.mazeModel = mazeModel;
+            this.idleTiles = idleTiles;
+            this.tileRandoms = tileRandoms;
+            this.offsets = offsets;
+            this.tileColumns = tileColumns;
+            this.from = from;
+            this.to = to;
+        }
+
+        protected void compute() {
+            if (to - from == 1) {
+                carveTile(from);
+            }
+            else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TileTask(mazeModel, idleTiles, tileRandoms, offsets, tileColumns, from, middle),
+                        new TileTask(mazeModel, idleTiles, tileRandoms, offsets, tileColumns, middle, to));
+            }
+        }
+
+        /*
+         * Carves a single tile in a borrowed tile model, then copies its
+         * walls into the maze.
+         *
+         * @param   t       The index of the tile
+         */
+        private void carveTile(int t) {
+            WallGrid walls = mazeModel.getWalls();
+            int columns = walls.getColumns();
+            int r0 = (t / tileColumns) * tileSize;
+            int c0 = (t % tileColumns) * tileSize;
+            int height = tileHeight(t / tileColumns, walls.getRows());
+            int width = tileWidth(t % tileColumns, columns);
+
+            // Reuse an Idle Tile Model, Only Making One When All are Busy
+            MazeModel tile = idleTiles.poll();
+            if (tile == null) {
+                tile = new MazeModel(height, width);
+            }
+            else {
+                tile.reset(height, width);
+            }
+            tileGenerator.generate(tile, tileRandoms[t]);
+
+            EdgeLog tileEdges = tile.getMazeGeneration();
+            int position = offsets[t];
+            for (int i = 0; i < tileEdges.size(); i++) {
+                int tileEdge = tileEdges.get(i);
+                int tileCell = WallGrid.edgeCell(tileEdge);
+                int cell = (r0 + tileCell / width) * columns + c0 + tileCell % width;
+
+                int edge = walls.edge(cell, WallGrid.isBottomEdge(tileEdge) ? WallGrid.DOWN : WallGrid.RIGHT);
+                mazeModel.carveReserved(position++, edge);
+            }
+
+            idleTiles.add(tile);
+        }
+    }
+}
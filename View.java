@@ -24,17 +24,16 @@ public class View extends JFrame {
     /*
      * Constructor for the View class.
      *
-     * @param   cells           The 2D list of cells in the maze
      * @param   defaultRows     The default number of rows in the maze
      * @param   defaultColumns  The default number of columns in the maze
      * @param   c               The controller used
      */
-    public View(Cell[][] cells, int defaultRows, int defaultColumns, Controller C) {
+    public View(int defaultRows, int defaultColumns, Controller C) {
 
         super("Maze Game");
 
         // Initialize Views
-        mazeView = new MazeView(cells, defaultRows, defaultColumns);
+        mazeView = new MazeView(defaultRows, defaultColumns);
         consoleView = new ConsoleView(defaultRows, defaultColumns, C);
         panelView = new PanelView();
 
@@ -0,0 +1,66 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.Arrays;
+
+/*
+ * Epoch-stamped visited marks for a traversal over flat cell indices.
+ *
+ * A cell is visited when its stamp matches the current epoch, so clearing
+ * every mark is a single increment of the epoch.
+ */
+public class VisitMarks {
+
+    private int stamps[];
+    private int epoch;
+
+    /*
+     * Constructor for the VisitMarks class.
+     *
+     * @param   size        The number of cells to track
+     */
+    public VisitMarks(int size) {
+        stamps = new int[size];
+        epoch = 1;
+    }
+
+    /*
+     * Makes sure there is a mark for every cell, growing the stamps if
+     * needed. All marks are cleared.
+     *
+     * @param   size        The number of cells to track
+     */
+    public void resize(int size) {
+        if (stamps.length < size) {
+            stamps = new int[size];
+            epoch = 1;
+        }
+        else {
+            clear();
+        }
+    }
+
+    /*
+     * Unvisits every cell by starting a new epoch.
+     */
+    public void clear() {
+        epoch++;
+
+        // Stamps from a previous lap of the counter could match again
+        if (epoch == 0) {
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+    }
+
+    public boolean isVisited(int cell) {
+        return stamps[cell] == epoch;
+    }
+
+    public void visit(int cell) {
+        stamps[cell] = epoch;
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/*
+ * Bit-packed wall storage for the Maze.
+ *
+ * Only the right and bottom wall of each cell are stored, two bits per cell
+ * in row-major order. The left and top walls are read from the neighboring
+ * cell, and the outer border of the grid is always a wall.
+ *
+ * The stored right walls of the last column and bottom walls of the last row
+ * are never cleared, which lets isOpen skip most bounds checks.
+ *
+ * An edge id is the bit index of a stored wall, (cell << 1) for the right
+ * wall and (cell << 1) + 1 for the bottom wall, so it fits an int for grids
+ * of up to 2^30 cells.
+ */
+public class WallGrid {
+
+    // Direction Constants
+    public static final int RIGHT = 0;
+    public static final int DOWN = 1;
+    public static final int LEFT = 2;
+    public static final int UP = 3;
+
+    // Direction Offsets, Indexed by Direction
+    public static final int DIRECTION_R[] = {0, 1, 0, -1};
+    public static final int DIRECTION_C[] = {1, 0, -1, 0};
+
+    // Atomic Access to the Wall Words
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    // Wall Bit Offsets
+    private static final int RIGHT_BIT = 0;
+    private static final int BOTTOM_BIT = 1;
+
+    // Grid Dimensions
+    private int rows;
+    private int columns;
+
+    // Wall Bits, Set Bit Means the Wall is Standing
+    private long bits[];
+
+    /*
+     * Constructor for the WallGrid class.
+     *
+     * @param   rows        The number of rows in the grid
+     * @param   columns     The number of columns in the grid
+     */
+    public WallGrid(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+
+        bits = new long[wordCount(rows, columns)];
+
+        reset();
+    }
+
+    /*
+     * Copy constructor for the WallGrid class.
+     *
+     * @param   other       The grid to copy the walls of
+     */
+    public WallGrid(WallGrid other) {
+        this.rows = other.rows;
+        this.columns = other.columns;
+
+        bits = Arrays.copyOf(other.bits, wordCount(rows, columns));
+    }
+
+    /*
+     * Gets the number of words needed to hold the walls of a grid.
+     *
+     * @param   rows        The number of rows in the grid
+     * @param   columns     The number of columns in the grid
+     * @return              The number of longs needed
+     */
+    private static int wordCount(int rows, int columns) {
+        return (int) ((((long) rows * columns * 2) + 63) >>> 6);
+    }
+
+    /*
+     * Changes the dimensions of the grid and puts every wall back up. The
+     * storage is only reallocated when the new grid does not fit.
+     *
+     * @param   rows        The number of rows in the grid
+     * @param   columns     The number of columns in the grid
+     */
+    public void resize(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+
+        if (bits.length < wordCount(rows, columns)) {
+            bits = new long[wordCount(rows, columns)];
+        }
+
+        reset();
+    }
+
+    /*
+     * Puts every wall of the current grid back up.
+     */
+    public void reset() {
+        Arrays.fill(bits, 0, wordCount(rows, columns), -1L);
+    }
+
+
+    // GETTERS
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /*
+     * Gets the flat index of a cell.
+     *
+     * @param   r       The row of the cell
+     * @param   c       The column of the cell
+     * @return          The row-major index of the cell
+     */
+    public int index(int r, int c) {
+        return r * columns + c;
+    }
+
+    public boolean hasLeftWall(int r, int c) {
+        return c == 0 || testBit(index(r, c - 1), RIGHT_BIT);
+    }
+
+    public boolean hasTopWall(int r, int c) {
+        return r == 0 || testBit(index(r - 1, c), BOTTOM_BIT);
+    }
+
+
+    // EDGES
+
+    /*
+     * Checks if a cell is open to its neighbor in a direction, meaning the
+     * neighbor is inside the grid and there is no wall between them.
+     *
+     * @param   cell        The flat index of the cell
+     * @param   direction   RIGHT, DOWN, LEFT or UP
+     * @return              Whether or not the cell can move that way
+     */
+    public boolean isOpen(int cell, int direction) {
+        switch (direction) {
+            case RIGHT:
+                return !testBit(cell, RIGHT_BIT);
+            case DOWN:
+                return !testBit(cell, BOTTOM_BIT);
+            case LEFT:
+                return cell > 0 && !testBit(cell - 1, RIGHT_BIT);
+            default:
+                return cell >= columns && !testBit(cell - columns, BOTTOM_BIT);
+        }
+    }
+
+    /*
+     * Checks if a cell has a neighbor inside the grid in a direction.
+     *
+     * @param   cell        The flat index of the cell
+     * @param   direction   RIGHT, DOWN, LEFT or UP
+     * @return              Whether or not the neighbor exists
+     */
+    public boolean hasNeighbor(int cell, int direction) {
+        switch (direction) {
+            case RIGHT:
+                return cell % columns != columns - 1;
+            case DOWN:
+                return cell < (rows - 1) * columns;
+            case LEFT:
+                return cell % columns != 0;
+            default:
+                return cell >= columns;
+        }
+    }
+
+    /*
+     * Gets the neighbor of a cell in a direction. The neighbor must be
+     * inside the grid.
+     *
+     * @param   cell        The flat index of the cell
+     * @param   direction   RIGHT, DOWN, LEFT or UP
+     * @return              The flat index of the neighbor
+     */
+    public int neighbor(int cell, int direction) {
+        return cell + DIRECTION_R[direction] * columns + DIRECTION_C[direction];
+    }
+
+    /*
+     * Gets the edge id of the wall on one side of a cell. The neighbor in
+     * that direction must be inside the grid.
+     *
+     * @param   cell        The flat index of the cell
+     * @param   direction   RIGHT, DOWN, LEFT or UP
+     * @return              The packed edge id
+     */
+    public int edge(int cell, int direction) {
+        switch (direction) {
+            case RIGHT:
+                return (cell << 1) + RIGHT_BIT;
+            case DOWN:
+                return (cell << 1) + BOTTOM_BIT;
+            case LEFT:
+                return ((cell - 1) << 1) + RIGHT_BIT;
+            default:
+                return ((cell - columns) << 1) + BOTTOM_BIT;
+        }
+    }
+
+    /*
+     * Gets the top or left cell of an edge.
+     *
+     * @param   edge    The packed edge id
+     * @return          The flat index of the cell
+     */
+    public static int edgeCell(int edge) {
+        return edge >>> 1;
+    }
+
+    /*
+     * Checks if an edge is the bottom wall of its cell.
+     *
+     * @param   edge    The packed edge id
+     * @return          Whether the edge is a bottom wall, otherwise a right wall
+     */
+    public static boolean isBottomEdge(int edge) {
+        return (edge & 1) == BOTTOM_BIT;
+    }
+
+    /*
+     * Breaks the wall of an edge.
+     *
+     * @param   edge    The packed edge id
+     */
+    public void breakWall(int edge) {
+        setBit(edgeCell(edge), edge & 1, false);
+    }
+
+    /*
+     * Puts up or breaks the wall of an edge. The outer border always stays
+     * up, so an edge on it is rejected.
+     *
+     * @param   edge        The packed edge id
+     * @param   standing    Whether the wall should be standing
+     */
+    public void setWall(int edge, boolean standing) {
+        int cell = edgeCell(edge);
+        if (edge < 0 || cell >= rows * columns
+                || !hasNeighbor(cell, isBottomEdge(edge) ? DOWN : RIGHT)) {
+            throw new IllegalArgumentException("edge " + edge + " is not between two cells");
+        }
+        setBit(cell, edge & 1, standing);
+    }
+
+    /*
+     * Gets the bottom or right cell of an edge.
+     *
+     * @param   edge    The packed edge id
+     * @return          The flat index of the cell
+     */
+    public int edgeOtherCell(int edge) {
+        return isBottomEdge(edge) ? edgeCell(edge) + columns : edgeCell(edge) + 1;
+    }
+
+    /*
+     * Breaks the wall of an edge with an atomic update, so threads carving
+     * cells that share a word do not lose each other's writes.
+     *
+     * @param   edge    The packed edge id
+     */
+    public void breakWallAtomic(int edge) {
+        WORDS.getAndBitwiseAnd(bits, edge >>> 6, ~(1L << edge));
+    }
+
+
+    // BIT HELPERS
+
+    private boolean testBit(int cell, int offset) {
+        long bit = ((long) cell << 1) + offset;
+        return (bits[(int) (bit >>> 6)] & (1L << bit)) != 0;
+    }
+
+    private void setBit(int cell, int offset, boolean value) {
+        long bit = ((long) cell << 1) + offset;
+        if (value) {
+            bits[(int) (bit >>> 6)] |= (1L << bit);
+        }
+        else {
+            bits[(int) (bit >>> 6)] &= ~(1L << bit);
+        }
+    }
+}
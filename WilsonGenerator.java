@@ -0,0 +1,57 @@
+/*
+ * Author: Sydney Norman
+ * Project: Maze Generator and Solver
+ * Date: October 25, 2017
+ */
+
+import java.util.SplittableRandom;
+
+/*
+ * Wilson Maze Generator
+ *
+ * Builds the maze from loop-erased random walks, which picks every perfect
+ * maze of the grid with equal probability. A walk remembers the last
+ * direction taken out of each cell, so loops are erased simply by walking
+ * over them again.
+ */
+public class WilsonGenerator implements MazeGenerator {
+
+    public void generate(MazeModel mazeModel, SplittableRandom random) {
+
+        WallGrid walls = mazeModel.getWalls();
+        int cellCount = walls.getRows() * walls.getColumns();
+
+        // Last Direction Taken Out of Each Cell
+        int walk[] = mazeModel.getScratch(0, cellCount);
+
+        // Visited Cells are Part of the Maze
+        mazeModel.unvisitCells();
+        mazeModel.visit(random.nextInt(cellCount));
+
+        for (int start = 0; start < cellCount; start++) {
+
+            // Walk Randomly Until Reaching the Maze
+            int cell = start;
+            while (!mazeModel.isVisited(cell)) {
+                int direction = random.nextInt(4);
+                while (!walls.hasNeighbor(cell, direction)) {
+                    direction = random.nextInt(4);
+                }
+                walk[cell] = direction;
+                cell = walls.neighbor(cell, direction);
+            }
+
+            // Carve the Loop-Erased Walk into the Maze
+            cell = start;
+            while (!mazeModel.isVisited(cell)) {
+                mazeModel.visit(cell);
+                mazeModel.carve(walls.edge(cell, walk[cell]));
+                cell = walls.neighbor(cell, walk[cell]);
+            }
+        }
+    }
+
+    public String getName() {
+        return "Wilson";
+    }
+}